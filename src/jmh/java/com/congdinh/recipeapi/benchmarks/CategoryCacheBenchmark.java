@@ -0,0 +1,131 @@
+package com.congdinh.recipeapi.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.congdinh.recipeapi.config.CacheConfiguration;
+import com.congdinh.recipeapi.entities.Category;
+import com.congdinh.recipeapi.repositories.CategoryRepository;
+import com.congdinh.recipeapi.services.CategoryService;
+import com.congdinh.recipeapi.services.CategoryServiceImpl;
+
+// Category browsing load (pages and details) through CategoryService with and without
+// the read cache. repositoryCalls is reported per second - the database query rate
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class CategoryCacheBenchmark {
+    private static final int CATEGORIES = 200;
+    private static final int PAGE_SIZE = 10;
+
+    // Repository calls made by the current benchmark thread
+    private static final ThreadLocal<long[]> CALLS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private AnnotationConfigApplicationContext context;
+    private CategoryService cachedService;
+    private CategoryService uncachedService;
+    private List<UUID> ids;
+
+    @Configuration
+    @Import(CacheConfiguration.class)
+    static class CachedCategoryConfiguration {
+        @Bean
+        CacheManager cacheManager() {
+            var cacheManager = new CaffeineCacheManager(CacheConfiguration.CATEGORIES, CacheConfiguration.CATEGORY);
+            cacheManager.setCacheSpecification("maximumSize=1000,expireAfterWrite=1h,recordStats");
+            return cacheManager;
+        }
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long repositoryCalls;
+    }
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        var categories = new ArrayList<Category>(CATEGORIES);
+        for (int i = 0; i < CATEGORIES; i++) {
+            categories.add(new Category(UUID.randomUUID(), "Category " + i, "Description of category " + i, 0L, null, null));
+        }
+        ids = categories.stream().map(Category::getId).toList();
+
+        // Every repository call stands for one query against SQL Server
+        var categoryRepository = Mockito.mock(CategoryRepository.class);
+        Mockito.when(categoryRepository.findAll(Mockito.any(Specification.class), Mockito.any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    CALLS.get()[0]++;
+                    Pageable pageable = invocation.getArgument(1);
+                    int from = (int) Math.min(pageable.getOffset(), categories.size());
+                    int to = Math.min(from + pageable.getPageSize(), categories.size());
+                    return new PageImpl<>(categories.subList(from, to), pageable, categories.size());
+                });
+        Mockito.when(categoryRepository.findById(Mockito.any(UUID.class))).thenAnswer(invocation -> {
+            CALLS.get()[0]++;
+            UUID id = invocation.getArgument(0);
+            return categories.stream().filter(category -> category.getId().equals(id)).findFirst();
+        });
+
+        context = new AnnotationConfigApplicationContext();
+        context.register(CachedCategoryConfiguration.class);
+        context.registerBean(CategoryRepository.class, () -> categoryRepository);
+        context.registerBean(CategoryServiceImpl.class);
+        context.refresh();
+
+        cachedService = context.getBean(CategoryService.class);
+        uncachedService = new CategoryServiceImpl(categoryRepository);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object browseWithoutCache(Counters counters) {
+        return browse(uncachedService, counters);
+    }
+
+    @Benchmark
+    public Object browseWithCache(Counters counters) {
+        return browse(cachedService, counters);
+    }
+
+    // An anonymous visitor opens a listing page, then one category of it
+    private Object browse(CategoryService categoryService, Counters counters) {
+        var random = ThreadLocalRandom.current();
+        var calls = CALLS.get();
+        long before = calls[0];
+
+        var page = categoryService.findAll(null,
+                PageRequest.of(random.nextInt(CATEGORIES / PAGE_SIZE), PAGE_SIZE, Sort.by("name").ascending()));
+        var category = categoryService.findById(ids.get(random.nextInt(ids.size())));
+
+        counters.repositoryCalls += calls[0] - before;
+        return Optional.ofNullable(category).map(c -> page.getNumberOfElements()).orElse(0);
+    }
+}
@@ -0,0 +1,87 @@
+package com.congdinh.recipeapi.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import com.congdinh.recipeapi.entities.RecipeIngredientId;
+import com.congdinh.recipeapi.repositories.RecipeIngredientRepository;
+import com.congdinh.recipeapi.services.RecipeIngredientIndex;
+
+// "Recipes I can cook" ranking over the ingredient bitmap index.
+// Ingredient popularity is skewed like real recipes: a few staples, a long tail of rare ones
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx6g")
+public class RecipeIngredientIndexBenchmark {
+    private static final int INGREDIENTS = 2000;
+    private static final int INGREDIENTS_PER_RECIPE = 8;
+
+    @Param({ "100000", "1000000" })
+    private int recipes;
+
+    // Ingredients in the fridge
+    @Param({ "5", "20" })
+    private int available;
+
+    private RecipeIngredientIndex recipeIngredientIndex;
+    private UUID[] ingredientIds;
+    private List<Set<UUID>> queries;
+    private int next;
+
+    @Setup
+    public void setup() {
+        var random = new Random(42);
+        ingredientIds = new UUID[INGREDIENTS];
+        for (int i = 0; i < INGREDIENTS; i++) {
+            ingredientIds[i] = UUID.randomUUID();
+        }
+
+        var rows = new ArrayList<RecipeIngredientId>(recipes * INGREDIENTS_PER_RECIPE);
+        for (int r = 0; r < recipes; r++) {
+            var recipeId = UUID.randomUUID();
+            var used = new HashSet<UUID>();
+            while (used.size() < INGREDIENTS_PER_RECIPE) {
+                used.add(ingredientIds[skewed(random)]);
+            }
+            used.forEach(ingredientId -> rows.add(new RecipeIngredientId(recipeId, ingredientId)));
+        }
+
+        var recipeIngredientRepository = Mockito.mock(RecipeIngredientRepository.class);
+        Mockito.when(recipeIngredientRepository.streamIds()).thenReturn(rows.stream());
+
+        recipeIngredientIndex = new RecipeIngredientIndex(recipeIngredientRepository);
+        recipeIngredientIndex.rebuild();
+
+        queries = new ArrayList<>();
+        for (int q = 0; q < 64; q++) {
+            var query = new HashSet<UUID>();
+            while (query.size() < available) {
+                query.add(ingredientIds[skewed(random)]);
+            }
+            queries.add(query);
+        }
+    }
+
+    // Index 0 is the most used ingredient
+    private static int skewed(Random random) {
+        double x = random.nextDouble();
+        return (int) (INGREDIENTS * x * x * x);
+    }
+
+    @Benchmark
+    public Object findBestMatches() {
+        var query = queries.get(next++ & 63);
+        return recipeIngredientIndex.findBestMatches(query, 20);
+    }
+}
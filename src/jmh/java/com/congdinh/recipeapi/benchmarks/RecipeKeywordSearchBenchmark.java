@@ -0,0 +1,78 @@
+package com.congdinh.recipeapi.benchmarks;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.congdinh.recipeapi.RecipeapiApplication;
+import com.congdinh.recipeapi.dto.recipe.RecipeDTO;
+import com.congdinh.recipeapi.dto.recipe.RecipeListRowDTO;
+import com.congdinh.recipeapi.repositories.RecipeRepository;
+import com.congdinh.recipeapi.services.RecipeService;
+import com.congdinh.recipeapi.services.RecipeServiceImpl;
+
+// First page of a keyword search against the perf profile catalogue (embedded H2, seeded by PerfDataSeeder):
+// search index matches paged in memory and loaded by primary key vs the LOWER(..) LIKE %kw% Specification
+// mvn -Pjmh test-compile exec:exec -Djmh.include=RecipeKeywordSearchBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class RecipeKeywordSearchBenchmark {
+    // List columns without description, the same statement shape for both
+    private static final Set<String> FIELDS = Set.of("id", "title", "image", "prepTime", "cookTime", "servings",
+            "category");
+
+    @Param({ "50000" })
+    private int recipes;
+
+    // Common word (about a fifth of the rows), phrase, no match
+    @Param({ "chicken", "coconut curry", "qazwsx" })
+    private String keyword;
+
+    // Titles are ordered from the index, other columns read (id, value) for the matches
+    @Param({ "title", "id", "cookTime" })
+    private String sortBy;
+
+    private ConfigurableApplicationContext context;
+    private RecipeService recipeService;
+    private RecipeRepository recipeRepository;
+    private Pageable pageable;
+
+    @Setup
+    public void setup() {
+        // Seeds the catalogue and builds the search index before run returns
+        context = new SpringApplicationBuilder(RecipeapiApplication.class)
+                .profiles("perf")
+                .properties("server.port=0", "app.perf.seed.recipes=" + recipes, "logging.level.root=WARN")
+                .run();
+
+        recipeService = context.getBean(RecipeService.class);
+        recipeRepository = context.getBean(RecipeRepository.class);
+        pageable = PageRequest.of(0, 20, Sort.by(sortBy));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<RecipeDTO> searchIndex() {
+        return recipeService.findAll(keyword, pageable, FIELDS);
+    }
+
+    @Benchmark
+    public Page<RecipeListRowDTO> likeSpecification() {
+        return recipeRepository.findListRows(RecipeServiceImpl.keywordSpecification(keyword), pageable, false);
+    }
+}
@@ -0,0 +1,69 @@
+package com.congdinh.recipeapi.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.congdinh.recipeapi.dto.recipe.RecipeDTO;
+import com.congdinh.recipeapi.dto.recipe.RecipeListRowDTO;
+import com.congdinh.recipeapi.entities.Category;
+import com.congdinh.recipeapi.entities.Recipe;
+import com.congdinh.recipeapi.services.RecipeServiceImpl;
+
+// Cost of one page of the hand-written Recipe -> RecipeDTO mapping in RecipeServiceImpl
+// Entity path = findAll()/findById, row path = the list projection of the paged search
+// Run with -prof gc (default in the jmh profile) for gc.alloc.rate.norm = bytes per page
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeMappingBenchmark {
+    @Param({ "20", "100", "1000" })
+    private int pageSize;
+
+    private List<Recipe> recipes;
+    private List<RecipeListRowDTO> rows;
+
+    @Setup
+    public void setup() {
+        var categories = new ArrayList<Category>();
+        for (int i = 0; i < 10; i++) {
+            categories.add(new Category(UUID.randomUUID(), "Category " + i, "Description of category " + i, 0L, null,
+                    null));
+        }
+
+        recipes = new ArrayList<>(pageSize);
+        rows = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            // Every 10th recipe has no category - the LEFT JOIN case
+            var category = i % 10 == 0 ? null : categories.get(i % categories.size());
+
+            var recipe = new Recipe(UUID.randomUUID(), "Recipe " + i, "Description of recipe " + i,
+                    "https://example.com/recipes/" + i + ".jpg", 10 + i % 30, 20 + i % 60, 1 + i % 8, 0L, null,
+                    category, null);
+            recipes.add(recipe);
+
+            rows.add(new RecipeListRowDTO(recipe.getId(), recipe.getTitle(), recipe.getDescription(), recipe.getImage(),
+                    recipe.getPrepTime(), recipe.getCookTime(), recipe.getServings(), recipe.getUpdatedAt(),
+                    category == null ? null : category.getId(), category == null ? null : category.getName(),
+                    category == null ? null : category.getDescription()));
+        }
+    }
+
+    @Benchmark
+    public List<RecipeDTO> mapEntities() {
+        // RecipeServiceImpl.findAll(), findById and findByIngredients
+        return recipes.stream().map(RecipeServiceImpl::toRecipeDTO).toList();
+    }
+
+    @Benchmark
+    public List<RecipeDTO> mapListRows() {
+        // RecipeServiceImpl.findAll(keyword, pageable, fields)
+        return rows.stream().map(RecipeServiceImpl::toRecipeDTO).toList();
+    }
+}
@@ -0,0 +1,94 @@
+package com.congdinh.recipeapi.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.HateoasPageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.PagedModel;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.DefaultLinkRelationProvider;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.congdinh.recipeapi.dto.category.CategoryDTO;
+import com.congdinh.recipeapi.dto.recipe.RecipeDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// GET /api/v1/recipes response: PagedResourcesAssembler.toModel and HAL JSON writing of PagedModel<RecipeDTO>
+// The assembler gets a fixed base URI so no servlet request is needed
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipePageSerializationBenchmark {
+    private static final long TOTAL_RECIPES = 10_000;
+
+    @Param({ "20", "100", "1000" })
+    private int pageSize;
+
+    private PagedResourcesAssembler<RecipeDTO> pagedResourcesAssembler;
+    private ObjectMapper objectMapper;
+    private PageImpl<RecipeDTO> page;
+    private PagedModel<EntityModel<RecipeDTO>> pagedModel;
+
+    @Setup
+    public void setup() {
+        pagedResourcesAssembler = new PagedResourcesAssembler<>(new HateoasPageableHandlerMethodArgumentResolver(),
+                UriComponentsBuilder.fromUriString("http://localhost:8080/api/v1/recipes").build());
+
+        // Same HAL setup Spring HATEOAS applies to the application's ObjectMapper
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        objectMapper.registerModule(new Jackson2HalModule());
+        objectMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new DefaultLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+
+        var recipeDTOs = new ArrayList<RecipeDTO>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            var categoryDTO = new CategoryDTO();
+            categoryDTO.setId(UUID.randomUUID());
+            categoryDTO.setName("Category " + i % 10);
+            categoryDTO.setDescription("Description of category " + i % 10);
+
+            var recipeDTO = new RecipeDTO();
+            recipeDTO.setId(UUID.randomUUID());
+            recipeDTO.setTitle("Recipe " + i);
+            recipeDTO.setDescription("Description of recipe " + i);
+            recipeDTO.setImage("https://example.com/recipes/" + i + ".jpg");
+            recipeDTO.setPrepTime(10 + i % 30);
+            recipeDTO.setCookTime(20 + i % 60);
+            recipeDTO.setServings(1 + i % 8);
+            recipeDTO.setCategory(categoryDTO);
+            recipeDTOs.add(recipeDTO);
+        }
+
+        page = new PageImpl<>(List.copyOf(recipeDTOs), PageRequest.of(1, pageSize), TOTAL_RECIPES);
+        pagedModel = pagedResourcesAssembler.toModel(page);
+    }
+
+    @Benchmark
+    public PagedModel<EntityModel<RecipeDTO>> toModel() {
+        return pagedResourcesAssembler.toModel(page);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pagedModel);
+    }
+
+    @Benchmark
+    public byte[] toModelAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pagedResourcesAssembler.toModel(page));
+    }
+}
@@ -0,0 +1,99 @@
+package com.congdinh.recipeapi.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import com.congdinh.recipeapi.dto.recipe.RecipeSearchDocumentDTO;
+import com.congdinh.recipeapi.repositories.RecipeRepository;
+import com.congdinh.recipeapi.services.RecipeSearchIndex;
+
+// Keyword lookup latency: inverted index vs the in-memory equivalent of
+// LOWER(title) LIKE %kw% OR LOWER(description) LIKE %kw% over every row
+// RecipeKeywordSearchBenchmark compares the whole search with the LIKE query on the database
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class RecipeSearchIndexBenchmark {
+    private static final String[] WORDS = { "chicken", "beef", "pork", "tofu", "rice", "noodle", "soup", "salad",
+            "garlic", "ginger", "lemon", "spicy", "sweet", "sour", "grilled", "fried", "steamed", "baked", "pho",
+            "curry", "basil", "onion", "pepper", "tomato", "mushroom", "coconut", "lime", "honey", "sesame", "egg" };
+
+    @Param({ "10000", "100000" })
+    private int recipes;
+
+    @Param({ "mushroom", "coconut curry", "qazwsx" })
+    private String keyword;
+
+    private RecipeSearchIndex recipeSearchIndex;
+    private List<String[]> rows;
+
+    @Setup
+    public void setup() {
+        var documents = new ArrayList<RecipeSearchDocumentDTO>(recipes);
+        rows = new ArrayList<>(recipes);
+
+        // Common cooking words plus a long tail of rarer words
+        var random = new Random(42);
+        var vocabulary = new String[5000];
+        for (int v = 0; v < vocabulary.length; v++) {
+            vocabulary[v] = randomWord(random);
+        }
+        vocabulary[0] = "qazwsx";
+
+        for (int i = 0; i < recipes; i++) {
+            var title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+
+            var description = new StringBuilder();
+            for (int w = 0; w < 30; w++) {
+                var word = w % 10 == 0 ? WORDS[random.nextInt(WORDS.length)] : vocabulary[random.nextInt(vocabulary.length)];
+                description.append(word).append(' ');
+            }
+
+            documents.add(new RecipeSearchDocumentDTO(UUID.randomUUID(), title, description.toString()));
+            rows.add(new String[] { title, description.toString() });
+        }
+
+        var recipeRepository = Mockito.mock(RecipeRepository.class);
+        Mockito.when(recipeRepository.streamSearchDocuments()).thenReturn(documents.stream());
+
+        recipeSearchIndex = new RecipeSearchIndex(recipeRepository);
+        recipeSearchIndex.rebuild();
+    }
+
+    private static String randomWord(Random random) {
+        var word = new char[5 + random.nextInt(5)];
+        for (int c = 0; c < word.length; c++) {
+            word[c] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(word);
+    }
+
+    @Benchmark
+    public Set<UUID> invertedIndex() {
+        return recipeSearchIndex.findMatches(keyword);
+    }
+
+    @Benchmark
+    public int likeScan() {
+        var pattern = keyword.toLowerCase();
+        int matches = 0;
+
+        for (var row : rows) {
+            if (row[0].toLowerCase().contains(pattern) || row[1].toLowerCase().contains(pattern)) {
+                matches++;
+            }
+        }
+
+        return matches;
+    }
+}
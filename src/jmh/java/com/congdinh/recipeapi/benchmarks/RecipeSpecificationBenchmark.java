@@ -0,0 +1,125 @@
+package com.congdinh.recipeapi.benchmarks;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.congdinh.recipeapi.entities.Category;
+import com.congdinh.recipeapi.entities.Ingredient;
+import com.congdinh.recipeapi.entities.Recipe;
+import com.congdinh.recipeapi.entities.RecipeIngredient;
+import com.congdinh.recipeapi.entities.Role;
+import com.congdinh.recipeapi.entities.User;
+import com.congdinh.recipeapi.services.RecipeServiceImpl;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaQuery;
+
+// Per-request cost of the search Specifications in RecipeServiceImpl before any SQL is sent:
+// lambda + composition, toPredicate on a new CriteriaQuery (what SimpleJpaRepository does),
+// and Hibernate's createQuery on top. Hibernate boots without a database (no JDBC metadata access)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeSpecificationBenchmark {
+    private SessionFactory sessionFactory;
+    private EntityManager entityManager;
+
+    @Param({ "pasta" })
+    private String keyword;
+
+    @Setup
+    public void setup() {
+        var configuration = new Configuration();
+        for (var entity : new Class<?>[] { Recipe.class, Category.class, Ingredient.class, RecipeIngredient.class,
+                Role.class, User.class }) {
+            configuration.addAnnotatedClass(entity);
+        }
+        configuration.setProperty("hibernate.dialect", "org.hibernate.dialect.SQLServerDialect");
+        configuration.setProperty("hibernate.boot.allow_jdbc_metadata_access", "false");
+        configuration.setProperty("hibernate.cache.use_second_level_cache", "false");
+        configuration.setProperty("jakarta.persistence.sharedCache.mode", "NONE");
+        configuration.getProperties().put("hibernate.connection.provider_class", new NoConnectionProvider());
+
+        sessionFactory = configuration.buildSessionFactory();
+        entityManager = sessionFactory.createEntityManager();
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Specification<Recipe> buildSpecification() {
+        return RecipeServiceImpl.keywordSpecification(keyword);
+    }
+
+    @Benchmark
+    public CriteriaQuery<Recipe> keywordToPredicate() {
+        return toCriteriaQuery(RecipeServiceImpl.keywordSpecification(keyword));
+    }
+
+    @Benchmark
+    public CriteriaQuery<Recipe> keywordAndCategoryToPredicate() {
+        // RecipeServiceImpl.findAll(keyword, categoryName, pageable) without search index
+        return toCriteriaQuery(RecipeServiceImpl.keywordSpecification(keyword)
+                .and(RecipeServiceImpl.categorySpecification(keyword, "Dessert")));
+    }
+
+    @Benchmark
+    public TypedQuery<Recipe> keywordCreateQuery() {
+        return entityManager.createQuery(toCriteriaQuery(RecipeServiceImpl.keywordSpecification(keyword)));
+    }
+
+    private CriteriaQuery<Recipe> toCriteriaQuery(Specification<Recipe> specification) {
+        var criteriaBuilder = entityManager.getCriteriaBuilder();
+        var query = criteriaBuilder.createQuery(Recipe.class);
+        var root = query.from(Recipe.class);
+
+        var predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        return query.select(root);
+    }
+
+    // Hibernate needs a provider to boot - queries are never executed
+    public static class NoConnectionProvider implements ConnectionProvider {
+        @Override
+        public Connection getConnection() throws SQLException {
+            throw new SQLException("No database in this benchmark");
+        }
+
+        @Override
+        public void closeConnection(Connection connection) {
+        }
+
+        @Override
+        public boolean supportsAggressiveRelease() {
+            return false;
+        }
+
+        @Override
+        public boolean isUnwrappableAs(Class<?> unwrapType) {
+            return false;
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> unwrapType) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.congdinh.recipeapi.benchmarks;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import com.congdinh.recipeapi.services.TokenServiceImpl;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Tokens validated per second: parser built per call (old code), shared parser,
+// and shared parser behind the verified-token cache
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenServiceBenchmark {
+    private static final String SECRET_KEY = "4GNADCBiQKBIb3DQEBAQUAA4GNADCBiQKBgQCPqVE4GNADCBi";
+
+    private TokenServiceImpl tokenService;
+    private TokenServiceImpl uncachedTokenService;
+    private String accessToken;
+
+    @Setup
+    public void setup() {
+        tokenService = new TokenServiceImpl(SECRET_KEY, 3600, 10_000, new SimpleMeterRegistry());
+        uncachedTokenService = new TokenServiceImpl(SECRET_KEY, 3600, 0, new SimpleMeterRegistry());
+
+        var authentication = new UsernamePasswordAuthenticationToken("admin", null,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        accessToken = tokenService.generateAccessToken(authentication);
+    }
+
+    @Benchmark
+    public Authentication parseWithPerCallParser() {
+        // Same steps as the previous TokenServiceImpl.parseAccessToken
+        var key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+
+        var claims = Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(accessToken)
+                .getPayload();
+
+        Set<GrantedAuthority> grantedAuthorities = Set.of(claims.get("roles").toString().split(","))
+                .stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toSet());
+
+        var principal = new User(claims.getSubject(), "", grantedAuthorities);
+
+        return new UsernamePasswordAuthenticationToken(principal, null, grantedAuthorities);
+    }
+
+    @Benchmark
+    public Authentication parseWithSharedParser() {
+        return uncachedTokenService.getAuthentication(accessToken);
+    }
+
+    @Benchmark
+    public Authentication parseWithTokenCache() {
+        return tokenService.getAuthentication(accessToken);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        var authentication = new UsernamePasswordAuthenticationToken("admin", null,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+        return tokenService.generateAccessToken(authentication);
+    }
+}
@@ -0,0 +1,282 @@
+package com.congdinh.recipeapi.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Mixed closed-loop load over the catalogue and login endpoints - per endpoint req/s and p50/p95/p99
+// 1. mvn -Pperf spring-boot:run -Dspring-boot.run.profiles=perf (H2 + seeded catalogue, see application-perf.properties)
+// 2. mvn -Pjmh test-compile exec:java@catalogue
+// Options: -Dload.baseUrl=http://localhost:8080 -Dload.concurrency=32 -Dload.durationSeconds=60
+//          -Dload.warmupSeconds=10 -Dload.users=1000 -Dload.password=Perf@1234
+//          -Dload.mix=recipes:40,search:10,recipe:25,categories:10,category:10,login:5
+public class CatalogueLoadTest {
+    private static final String[] KEYWORDS = { "chicken", "pasta", "soup", "spicy", "grilled", "garlic", "lemon",
+            "mushroom", "coconut", "honey" };
+
+    private enum Endpoint {
+        RECIPES("GET /api/v1/recipes"),
+        SEARCH("GET /api/v1/recipes?keyword"),
+        RECIPE("GET /api/v1/recipes/{id}"),
+        CATEGORIES("GET /api/v1/categories"),
+        CATEGORY("GET /api/v1/categories/{id}"),
+        LOGIN("POST /api/auth/login");
+
+        private final String label;
+
+        Endpoint(String label) {
+            this.label = label;
+        }
+    }
+
+    // Latencies in ns per endpoint, the error count in errors
+    private static class Recording {
+        private final long[][] latencies = new long[Endpoint.values().length][1024];
+        private final int[] counts = new int[Endpoint.values().length];
+        private final long[] errors = new long[Endpoint.values().length];
+
+        void record(Endpoint endpoint, long latency) {
+            var index = endpoint.ordinal();
+            if (counts[index] == latencies[index].length) {
+                latencies[index] = Arrays.copyOf(latencies[index], counts[index] * 2);
+            }
+            latencies[index][counts[index]++] = latency;
+        }
+    }
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String baseUrl = System.getProperty("load.baseUrl", "http://localhost:8080");
+    private final String adminUsername = System.getProperty("load.username", "perfadmin");
+    private final String password = System.getProperty("load.password", "Perf@1234");
+    private final int users = Integer.getInteger("load.users", 1000);
+    private final int concurrency = Integer.getInteger("load.concurrency", 32);
+    private final Duration duration = Duration.ofSeconds(Long.getLong("load.durationSeconds", 60));
+    private final Duration warmup = Duration.ofSeconds(Long.getLong("load.warmupSeconds", 10));
+    private final Map<Endpoint, Integer> mix = parseMix(
+            System.getProperty("load.mix", "recipes:40,search:10,recipe:25,categories:10,category:10,login:5"));
+
+    private String token;
+    private List<String> recipeIds;
+    private List<String> categoryIds;
+    private Endpoint[] schedule;
+
+    public static void main(String[] args) throws Exception {
+        new CatalogueLoadTest().run();
+    }
+
+    private void run() throws Exception {
+        token = login(adminUsername);
+        if (token == null) {
+            throw new IllegalStateException("Login as " + adminUsername + " failed - is the app running with the perf profile?");
+        }
+
+        // Ids for the detail endpoints, spread over the catalogue
+        recipeIds = new ArrayList<>();
+        for (int page = 0; page < 10; page++) {
+            recipeIds.addAll(readIds("/api/v1/recipes?size=200&page=" + page * 10));
+        }
+        categoryIds = readIds("/api/v1/categories?size=200");
+        if (recipeIds.isEmpty() || categoryIds.isEmpty()) {
+            throw new IllegalStateException("No recipes or categories found - is the perf catalogue seeded?");
+        }
+
+        // Weighted picks: one slot per weight unit
+        var slots = new ArrayList<Endpoint>();
+        mix.forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(endpoint);
+            }
+        });
+        schedule = slots.toArray(Endpoint[]::new);
+
+        System.out.printf("%s - %d clients, %ds warm-up, %ds measured, mix %s%n", baseUrl, concurrency,
+                warmup.toSeconds(), duration.toSeconds(), mix);
+
+        // Warm up JIT, connection pool and caches - not reported
+        runPhase(warmup);
+
+        report(runPhase(duration), duration);
+    }
+
+    private Recording runPhase(Duration phaseDuration) throws Exception {
+        var deadline = System.nanoTime() + phaseDuration.toNanos();
+
+        var results = new ArrayList<Future<Recording>>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                results.add(executor.submit(() -> callUntil(deadline)));
+            }
+        }
+
+        var total = new Recording();
+        for (var result : results) {
+            var recording = result.get();
+            for (var endpoint : Endpoint.values()) {
+                var index = endpoint.ordinal();
+                for (int i = 0; i < recording.counts[index]; i++) {
+                    total.record(endpoint, recording.latencies[index][i]);
+                }
+                total.errors[index] += recording.errors[index];
+            }
+        }
+
+        return total;
+    }
+
+    private Recording callUntil(long deadline) {
+        var recording = new Recording();
+        var random = ThreadLocalRandom.current();
+
+        while (System.nanoTime() < deadline) {
+            var endpoint = schedule[random.nextInt(schedule.length)];
+            var request = newRequest(endpoint, random);
+
+            var start = System.nanoTime();
+            try {
+                var response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() / 100 != 2) {
+                    recording.errors[endpoint.ordinal()]++;
+                    continue;
+                }
+            } catch (Exception e) {
+                recording.errors[endpoint.ordinal()]++;
+                continue;
+            }
+
+            recording.record(endpoint, System.nanoTime() - start);
+        }
+
+        return recording;
+    }
+
+    private HttpRequest newRequest(Endpoint endpoint, ThreadLocalRandom random) {
+        var path = switch (endpoint) {
+            case RECIPES -> "/api/v1/recipes?size=20&page=" + random.nextInt(100);
+            case SEARCH -> "/api/v1/recipes?size=20&keyword=" + KEYWORDS[random.nextInt(KEYWORDS.length)];
+            case RECIPE -> "/api/v1/recipes/" + recipeIds.get(random.nextInt(recipeIds.size()));
+            case CATEGORIES -> "/api/v1/categories?size=20&page=" + random.nextInt(10);
+            case CATEGORY -> "/api/v1/categories/" + categoryIds.get(random.nextInt(categoryIds.size()));
+            case LOGIN -> "/api/auth/login";
+        };
+
+        var builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+        if (endpoint == Endpoint.LOGIN) {
+            return builder.header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(loginBody("user" + random.nextInt(users))))
+                    .build();
+        }
+
+        return builder.header("Authorization", "Bearer " + token).GET().build();
+    }
+
+    private void report(Recording recording, Duration phaseDuration) {
+        System.out.printf("%n%-30s %8s %9s %9s %9s %9s %7s%n", "endpoint", "count", "req/s", "p50 ms", "p95 ms",
+                "p99 ms", "errors");
+
+        var all = new long[0];
+        long allErrors = 0;
+        for (var endpoint : Endpoint.values()) {
+            var index = endpoint.ordinal();
+            var latencies = Arrays.copyOf(recording.latencies[index], recording.counts[index]);
+            if (latencies.length == 0 && recording.errors[index] == 0) {
+                continue;
+            }
+            Arrays.sort(latencies);
+            print(endpoint.label, latencies, recording.errors[index], phaseDuration);
+
+            var offset = all.length;
+            all = Arrays.copyOf(all, offset + latencies.length);
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+            allErrors += recording.errors[index];
+        }
+
+        Arrays.sort(all);
+        print("total", all, allErrors, phaseDuration);
+    }
+
+    private static void print(String label, long[] sortedLatencies, long errors, Duration phaseDuration) {
+        System.out.printf("%-30s %8d %9.1f %9.1f %9.1f %9.1f %7d%n", label, sortedLatencies.length,
+                sortedLatencies.length / (double) phaseDuration.toSeconds(), percentile(sortedLatencies, 0.50) / 1e6,
+                percentile(sortedLatencies, 0.95) / 1e6, percentile(sortedLatencies, 0.99) / 1e6, errors);
+    }
+
+    private String login(String username) throws Exception {
+        var request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(loginBody(username)))
+                .build();
+
+        var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            return null;
+        }
+
+        return objectMapper.readTree(response.body()).path("accessToken").asText(null);
+    }
+
+    private String loginBody(String username) {
+        return objectMapper.createObjectNode().put("username", username).put("password", password).toString();
+    }
+
+    // Ids of the first collection under _embedded of a PagedModel response
+    private List<String> readIds(String path) throws Exception {
+        var request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+
+        var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            return List.of();
+        }
+
+        var ids = new ArrayList<String>();
+        var embedded = objectMapper.readTree(response.body()).path("_embedded");
+        if (embedded.fields().hasNext()) {
+            for (JsonNode item : embedded.fields().next().getValue()) {
+                ids.add(item.path("id").asText());
+            }
+        }
+
+        return ids;
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        var weights = new LinkedHashMap<Endpoint, Integer>();
+        for (var entry : mix.split(",")) {
+            var parts = entry.trim().split(":");
+            var weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Endpoint.valueOf(parts[0].trim().toUpperCase()), weight);
+            }
+        }
+
+        return weights;
+    }
+
+    private static long percentile(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+
+        return sortedLatencies[(int) Math.min(sortedLatencies.length - 1, Math.ceil(percentile * sortedLatencies.length) - 1)];
+    }
+}
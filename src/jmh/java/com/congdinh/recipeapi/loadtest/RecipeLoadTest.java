@@ -0,0 +1,214 @@
+package com.congdinh.recipeapi.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Closed-loop step load against GET /api/v1/recipes - finds where throughput stops growing for a pool size
+// 1. Start the app with the pool under test: --spring.profiles.active=prod --spring.datasource.hikari.maximum-pool-size=10
+// 2. mvn -Pjmh test-compile exec:java@loadtest -Dload.token=<admin JWT>
+// Options: -Dload.baseUrl=http://localhost:8080 -Dload.path=/api/v1/recipes?size=20
+//          -Dload.concurrency=1,2,4,8,16,32,64,128 -Dload.stepSeconds=15 -Dload.pool=primary
+// Pool wait comes from /actuator/metrics/hikaricp.connections.acquire (exposed by the prod profile)
+public class RecipeLoadTest {
+    // Less than 10% more throughput for double the clients => saturated
+    private static final double MIN_GAIN = 1.10;
+
+    private record Step(int concurrency, double throughput, long p50, long p95, long p99, long errors,
+            double acquireMeanMs, double acquireMaxMs) {
+    }
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String baseUrl = System.getProperty("load.baseUrl", "http://localhost:8080");
+    private final String path = System.getProperty("load.path", "/api/v1/recipes?size=20");
+    private final String token = System.getProperty("load.token", "");
+    private final String pool = System.getProperty("load.pool", "");
+    private final Duration stepDuration = Duration.ofSeconds(Long.getLong("load.stepSeconds", 15));
+    private final int[] concurrencyLevels = Arrays.stream(System.getProperty("load.concurrency", "1,2,4,8,16,32,64,128")
+            .split(","))
+            .mapToInt(level -> Integer.parseInt(level.trim()))
+            .toArray();
+
+    public static void main(String[] args) throws Exception {
+        new RecipeLoadTest().run();
+    }
+
+    private void run() throws Exception {
+        var maxPoolSize = readMetric("hikaricp.connections.max", "VALUE");
+        System.out.printf("GET %s%s - pool max size %s, %ds per step%n", baseUrl, path,
+                Double.isNaN(maxPoolSize) ? "n/a" : String.valueOf((long) maxPoolSize), stepDuration.toSeconds());
+
+        // Warm up JIT, Hibernate query plans and the statement cache - not reported
+        runStep(concurrencyLevels[0]);
+
+        System.out.printf("%6s %10s %9s %9s %9s %7s %12s %12s%n",
+                "conc", "req/s", "p50 ms", "p95 ms", "p99 ms", "errors", "acquire ms", "acq max ms");
+
+        var steps = new ArrayList<Step>();
+        for (var concurrency : concurrencyLevels) {
+            var step = runStep(concurrency);
+            steps.add(step);
+
+            System.out.printf("%6d %10.1f %9.1f %9.1f %9.1f %7d %12s %12s%n", step.concurrency(), step.throughput(),
+                    step.p50() / 1e6, step.p95() / 1e6, step.p99() / 1e6, step.errors(),
+                    format(step.acquireMeanMs()), format(step.acquireMaxMs()));
+        }
+
+        report(steps);
+    }
+
+    private Step runStep(int concurrency) throws Exception {
+        var acquireBefore = readAcquire();
+        var deadline = System.nanoTime() + stepDuration.toNanos();
+
+        var results = new ArrayList<Future<long[]>>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                results.add(executor.submit(() -> callUntil(deadline)));
+            }
+        }
+
+        // Each worker returns its latencies, the last slot holds its error count
+        var latencies = new long[0];
+        long errors = 0;
+        for (var result : results) {
+            var workerLatencies = result.get();
+            errors += workerLatencies[workerLatencies.length - 1];
+
+            var offset = latencies.length;
+            latencies = Arrays.copyOf(latencies, offset + workerLatencies.length - 1);
+            System.arraycopy(workerLatencies, 0, latencies, offset, workerLatencies.length - 1);
+        }
+        Arrays.sort(latencies);
+
+        var acquireAfter = readAcquire();
+        var acquireCount = acquireAfter[0] - acquireBefore[0];
+        var acquireMeanMs = acquireCount > 0 ? (acquireAfter[1] - acquireBefore[1]) / acquireCount * 1000 : Double.NaN;
+
+        return new Step(concurrency, latencies.length / (double) stepDuration.toSeconds(),
+                percentile(latencies, 0.50), percentile(latencies, 0.95), percentile(latencies, 0.99), errors,
+                acquireMeanMs, acquireAfter[2] * 1000);
+    }
+
+    private long[] callUntil(long deadline) {
+        var request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+
+        var latencies = new long[1024];
+        int count = 0;
+        long errors = 0;
+
+        while (System.nanoTime() < deadline) {
+            var start = System.nanoTime();
+            try {
+                var response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() != 200) {
+                    errors++;
+                    continue;
+                }
+            } catch (Exception e) {
+                errors++;
+                continue;
+            }
+
+            if (count == latencies.length - 1) {
+                latencies = Arrays.copyOf(latencies, latencies.length * 2);
+            }
+            latencies[count++] = System.nanoTime() - start;
+        }
+
+        latencies = Arrays.copyOf(latencies, count + 1);
+        latencies[count] = errors;
+        return latencies;
+    }
+
+    // Saturation point = last step whose throughput still grew by MIN_GAIN over the previous one
+    private void report(List<Step> steps) {
+        var knee = steps.get(0);
+        for (int i = 1; i < steps.size(); i++) {
+            if (steps.get(i).throughput() < steps.get(i - 1).throughput() * MIN_GAIN) {
+                break;
+            }
+            knee = steps.get(i);
+        }
+
+        var last = steps.get(steps.size() - 1);
+        if (knee == last && steps.size() > 1) {
+            System.out.printf("%nNot saturated up to %d concurrent clients (%.1f req/s) - add higher -Dload.concurrency levels%n",
+                    last.concurrency(), last.throughput());
+            return;
+        }
+
+        System.out.printf("%nSaturation at ~%d concurrent clients: %.1f req/s, p95 %.1f ms%n",
+                knee.concurrency(), knee.throughput(), knee.p95() / 1e6);
+
+        // Past the knee, growing pool wait means the pool (not the CPU or the database) is the limit
+        if (!Double.isNaN(last.acquireMeanMs()) && last.acquireMeanMs() > 1) {
+            System.out.printf("Mean connection wait at %d clients is %.1f ms - requests queue for the pool%n",
+                    last.concurrency(), last.acquireMeanMs());
+        }
+    }
+
+    // COUNT, TOTAL_TIME (seconds), MAX (seconds) of the acquire timer
+    private double[] readAcquire() {
+        return new double[] {
+                readMetric("hikaricp.connections.acquire", "COUNT"),
+                readMetric("hikaricp.connections.acquire", "TOTAL_TIME"),
+                readMetric("hikaricp.connections.acquire", "MAX") };
+    }
+
+    private double readMetric(String name, String statistic) {
+        var uri = baseUrl + "/actuator/metrics/" + name + (pool.isEmpty() ? "" : "?tag=pool:" + pool);
+        var request = HttpRequest.newBuilder(URI.create(uri))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+
+        try {
+            var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return Double.NaN;
+            }
+
+            for (JsonNode measurement : objectMapper.readTree(response.body()).path("measurements")) {
+                if (statistic.equals(measurement.path("statistic").asText())) {
+                    return measurement.path("value").asDouble();
+                }
+            }
+        } catch (Exception e) {
+            // Actuator not exposed - report n/a
+        }
+
+        return Double.NaN;
+    }
+
+    private static long percentile(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+
+        return sortedLatencies[(int) Math.min(sortedLatencies.length - 1, Math.ceil(percentile * sortedLatencies.length) - 1)];
+    }
+
+    private static String format(double value) {
+        return Double.isNaN(value) ? "n/a" : String.format("%.2f", value);
+    }
+}
@@ -0,0 +1,193 @@
+package com.congdinh.recipeapi.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Platform threads (Tomcat default 200) vs virtual threads for a handler that blocks on a "database call"
+// The handler takes a permit from a Semaphore sized like the Hikari pool, waits up to 3s like
+// connection-timeout, then sleeps for the query time - no SQL Server needed
+// mvn -Pjmh test-compile exec:java@threadmodel [-Dload.queryMillis=50 -Dload.pools=20,1000 -Dload.concurrency=100,400,800]
+public class ThreadModelLoadTest {
+    private static final byte[] BODY = "{\"content\":[]}".getBytes();
+
+    // Held in a field - JUL only keeps weak references to configured loggers
+    private static final Logger TOMCAT_LOGGER = Logger.getLogger("org.apache");
+
+    private final long queryMillis = Long.getLong("load.queryMillis", 50);
+    private final Duration stepDuration = Duration.ofSeconds(Long.getLong("load.stepSeconds", 10));
+    private final int[] poolSizes = parse(System.getProperty("load.pools", "20,1000"));
+    private final int[] concurrencyLevels = parse(System.getProperty("load.concurrency", "100,400,800"));
+
+    // Clients run on platform threads so they do not compete with the server for the virtual thread carriers
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        // Only the result table on the console
+        TOMCAT_LOGGER.setLevel(Level.WARNING);
+        LoggingSystem.get(ThreadModelLoadTest.class.getClassLoader()).setLogLevel("org.springframework", LogLevel.WARN);
+
+        new ThreadModelLoadTest().run();
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        System.out.printf("Query time %d ms, %ds per step%n", queryMillis, stepDuration.toSeconds());
+        System.out.printf("%-9s %6s %8s %10s %9s %9s %8s%n", "threads", "pool", "clients", "req/s", "p50 ms",
+                "p99 ms", "errors");
+
+        for (var poolSize : poolSizes) {
+            for (var virtual : new boolean[] { false, true }) {
+                var pool = new Semaphore(poolSize);
+                var factory = new TomcatServletWebServerFactory(0);
+                if (virtual) {
+                    // Same executor Spring Boot installs for spring.threads.virtual.enabled=true
+                    factory.addProtocolHandlerCustomizers(
+                            protocolHandler -> protocolHandler.setExecutor(new VirtualThreadExecutor("tomcat-handler-")));
+                }
+
+                var webServer = factory.getWebServer(servletContext -> servletContext
+                        .addServlet("recipes", new QueryServlet(pool, queryMillis))
+                        .addMapping("/api/v1/recipes"));
+                webServer.start();
+
+                try {
+                    var uri = URI.create("http://localhost:" + webServer.getPort() + "/api/v1/recipes");
+
+                    // Warm up connections and JIT - not reported
+                    runStep(uri, concurrencyLevels[0]);
+
+                    for (var concurrency : concurrencyLevels) {
+                        var result = runStep(uri, concurrency);
+                        System.out.printf("%-9s %6d %8d %10.1f %9.1f %9.1f %8d%n", virtual ? "virtual" : "platform",
+                                poolSize, concurrency, result[0], result[1] / 1e6, result[2] / 1e6, (long) result[3]);
+                    }
+                } finally {
+                    webServer.stop();
+                }
+            }
+        }
+    }
+
+    // req/s, p50 ns, p99 ns, errors
+    private double[] runStep(URI uri, int concurrency) throws Exception {
+        var request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+        var deadline = System.nanoTime() + stepDuration.toNanos();
+
+        var results = new ArrayList<Future<long[]>>();
+        try (var executor = Executors.newFixedThreadPool(concurrency)) {
+            for (int i = 0; i < concurrency; i++) {
+                results.add(executor.submit(() -> {
+                    var latencies = new long[1024];
+                    int count = 0;
+                    long errors = 0;
+
+                    while (System.nanoTime() < deadline) {
+                        var start = System.nanoTime();
+                        try {
+                            if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                                errors++;
+                                continue;
+                            }
+                        } catch (IOException e) {
+                            errors++;
+                            continue;
+                        }
+
+                        if (count == latencies.length - 1) {
+                            latencies = Arrays.copyOf(latencies, latencies.length * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+
+                    // Last slot holds the error count
+                    latencies = Arrays.copyOf(latencies, count + 1);
+                    latencies[count] = errors;
+                    return latencies;
+                }));
+            }
+        }
+
+        var latencies = new long[0];
+        long errors = 0;
+        for (var result : results) {
+            var workerLatencies = result.get();
+            errors += workerLatencies[workerLatencies.length - 1];
+
+            var offset = latencies.length;
+            latencies = Arrays.copyOf(latencies, offset + workerLatencies.length - 1);
+            System.arraycopy(workerLatencies, 0, latencies, offset, workerLatencies.length - 1);
+        }
+        Arrays.sort(latencies);
+
+        return new double[] { latencies.length / (double) stepDuration.toSeconds(), percentile(latencies, 0.50),
+                percentile(latencies, 0.99), errors };
+    }
+
+    private static long percentile(long[] sortedLatencies, double percentile) {
+        if (sortedLatencies.length == 0) {
+            return 0;
+        }
+
+        return sortedLatencies[(int) Math.min(sortedLatencies.length - 1, Math.ceil(percentile * sortedLatencies.length) - 1)];
+    }
+
+    private static int[] parse(String levels) {
+        return Arrays.stream(levels.split(",")).mapToInt(level -> Integer.parseInt(level.trim())).toArray();
+    }
+
+    // Blocks like a repository call: wait for a pooled connection, then for the query
+    private static class QueryServlet extends HttpServlet {
+        private final Semaphore pool;
+        private final long queryMillis;
+
+        QueryServlet(Semaphore pool, long queryMillis) {
+            this.pool = pool;
+            this.queryMillis = queryMillis;
+        }
+
+        @Override
+        protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            try {
+                if (!pool.tryAcquire(3, TimeUnit.SECONDS)) {
+                    response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                    return;
+                }
+                try {
+                    Thread.sleep(queryMillis);
+                } finally {
+                    pool.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                return;
+            }
+
+            response.setContentType("application/json");
+            response.getOutputStream().write(BODY);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.congdinh.recipeapi.config;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Marks the request thread so AuthPoolRoutingDataSource hands out auth pool connections
+// Registered for /api/auth/* only when app.datasource.auth.enabled=true
+public class AuthPoolFilter extends OncePerRequestFilter {
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AuthPoolRoutingDataSource.bindAuthRequest();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            AuthPoolRoutingDataSource.clearAuthRequest();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.congdinh.recipeapi.config;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+// Connections taken while serving /api/auth/** come from the auth pool, everything else from the default pool
+// Login and register keep working when the API pool is saturated
+public class AuthPoolRoutingDataSource extends AbstractRoutingDataSource {
+    private static final String AUTH = "auth";
+
+    // Set by AuthPoolFilter for the duration of an auth request
+    private static final ThreadLocal<Boolean> AUTH_REQUEST = new ThreadLocal<>();
+
+    public AuthPoolRoutingDataSource(DataSource defaultDataSource, DataSource authDataSource) {
+        setDefaultTargetDataSource(defaultDataSource);
+        setTargetDataSources(Map.of(AUTH, authDataSource));
+        afterPropertiesSet();
+    }
+
+    static void bindAuthRequest() {
+        AUTH_REQUEST.set(Boolean.TRUE);
+    }
+
+    static void clearAuthRequest() {
+        AUTH_REQUEST.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        // null => default target
+        return Boolean.TRUE.equals(AUTH_REQUEST.get()) ? AUTH : null;
+    }
+}
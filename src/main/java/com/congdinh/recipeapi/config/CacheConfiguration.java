@@ -0,0 +1,17 @@
+package com.congdinh.recipeapi.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// Caffeine caches are configured by spring.cache.* in application.properties
+// Caching runs outside @Transactional: a hit opens no transaction and evictions happen after commit
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfiguration {
+    // Category lists, searches, pages and ETag versions - evicted on every category write
+    public static final String CATEGORIES = "categories";
+
+    // Category by id - evicted by id
+    public static final String CATEGORY = "category";
+}
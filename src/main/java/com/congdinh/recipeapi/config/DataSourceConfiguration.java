@@ -0,0 +1,99 @@
+package com.congdinh.recipeapi.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+// Only active when a replica or the auth pool is configured - otherwise Spring Boot creates the single pool
+// @Transactional(readOnly = true) marks the connection read-only, which routes it to the replica pool
+// Replicas lag behind the primary: a read right after a write may not see it yet
+@Configuration
+@ConditionalOnExpression("'${app.datasource.replica.jdbc-url:}' != '' or '${app.datasource.auth.enabled:false}' == 'true'")
+public class DataSourceConfiguration {
+    // Same binding as the auto-configured pool: spring.datasource.* and spring.datasource.hikari.*
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        var dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    // Same database as the primary, sized by app.datasource.auth.maximum-pool-size...
+    @Bean
+    @ConditionalOnProperty(prefix = "app.datasource.auth", name = "enabled", havingValue = "true")
+    @ConfigurationProperties("app.datasource.auth")
+    public HikariDataSource authDataSource(DataSourceProperties dataSourceProperties) {
+        var dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("auth");
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.datasource.auth", name = "enabled", havingValue = "true")
+    public FilterRegistrationBean<AuthPoolFilter> authPoolFilter() {
+        var registration = new FilterRegistrationBean<>(new AuthPoolFilter());
+        registration.addUrlPatterns("/api/auth/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    // app.datasource.replica.jdbc-url, username, password, maximum-pool-size...
+    @Bean
+    @ConditionalOnProperty(prefix = "app.datasource.replica", name = "jdbc-url")
+    @ConfigurationProperties("app.datasource.replica")
+    public HikariDataSource replicaDataSource(@Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        // Open session in view keeps the first connection for the whole request - a write after a read-only
+        // lookup (deleteById: findById then delete) would run on the replica connection
+        if (openInView) {
+            throw new IllegalStateException("app.datasource.replica.jdbc-url requires spring.jpa.open-in-view=false");
+        }
+
+        var dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    // Hibernate gets a lazy proxy: the physical connection is only taken on the first statement,
+    // after the transaction manager has called setReadOnly - so the right pool is picked
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("authDataSource") ObjectProvider<DataSource> authDataSource,
+            @Qualifier("replicaDataSource") ObjectProvider<DataSource> replicaDataSource) {
+        DataSource writeDataSource = primaryDataSource;
+        DataSource readOnlyDataSource = replicaDataSource.getIfAvailable();
+
+        // Auth requests stay on the auth pool for reads too - a login right after register must see the user
+        var auth = authDataSource.getIfAvailable();
+        if (auth != null) {
+            writeDataSource = new AuthPoolRoutingDataSource(writeDataSource, auth);
+
+            if (readOnlyDataSource != null) {
+                readOnlyDataSource = new AuthPoolRoutingDataSource(readOnlyDataSource, auth);
+            }
+        }
+
+        var dataSource = new LazyConnectionDataSourceProxy(writeDataSource);
+        if (readOnlyDataSource != null) {
+            dataSource.setReadOnlyDataSource(readOnlyDataSource);
+        }
+
+        return dataSource;
+    }
+}
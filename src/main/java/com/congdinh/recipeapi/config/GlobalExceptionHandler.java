@@ -1,5 +1,6 @@
 package com.congdinh.recipeapi.config;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -7,6 +8,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import com.congdinh.recipeapi.dto.response.ResponseError;
 import com.congdinh.recipeapi.exceptions.ResourceNotFoundException;
+import com.congdinh.recipeapi.exceptions.ServiceUnavailableException;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
@@ -21,4 +23,18 @@ public class GlobalExceptionHandler {
         var responseError = new ResponseError(e.getMessage(), HttpStatus.NOT_FOUND);
         return new ResponseEntity<>(responseError, HttpStatus.NOT_FOUND);
     }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<?> handleServiceUnavailableException(ServiceUnavailableException e) {
+        var responseError = new ResponseError(e.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+        return new ResponseEntity<>(responseError, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    // Row changed by another request since it was read - version mismatch
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<?> handleOptimisticLockingFailureException(OptimisticLockingFailureException e) {
+        var responseError = new ResponseError("Resource was modified by another request, please retry",
+                HttpStatus.CONFLICT);
+        return new ResponseEntity<>(responseError, HttpStatus.CONFLICT);
+    }
 }
@@ -0,0 +1,82 @@
+package com.congdinh.recipeapi.config;
+
+import java.util.function.ToDoubleFunction;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// Hibernate statistics as meters - same names as the hibernate-micrometer binder
+// Only registered when hibernate.generate_statistics=true (MetricsConfiguration), otherwise every counter stays at 0
+public class HibernateStatisticsMetrics implements MeterBinder {
+    private final Statistics statistics;
+
+    public HibernateStatisticsMetrics(SessionFactory sessionFactory) {
+        this.statistics = sessionFactory.getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // Entities and collections - loads hit the database, fetches are lazy loads (N+1 candidates)
+        counter(registry, "hibernate.entities.loads", "Entities loaded", Statistics::getEntityLoadCount);
+        counter(registry, "hibernate.entities.fetches", "Entities fetched lazily", Statistics::getEntityFetchCount);
+        counter(registry, "hibernate.entities.inserts", "Entities inserted", Statistics::getEntityInsertCount);
+        counter(registry, "hibernate.entities.updates", "Entities updated", Statistics::getEntityUpdateCount);
+        counter(registry, "hibernate.entities.deletes", "Entities deleted", Statistics::getEntityDeleteCount);
+        counter(registry, "hibernate.collections.loads", "Collections loaded", Statistics::getCollectionLoadCount);
+        counter(registry, "hibernate.collections.fetches", "Collections fetched lazily",
+                Statistics::getCollectionFetchCount);
+
+        // Queries and statements
+        counter(registry, "hibernate.query.executions", "Queries executed", Statistics::getQueryExecutionCount);
+        Gauge.builder("hibernate.query.executions.max", statistics, Statistics::getQueryExecutionMaxTime)
+                .description("Slowest query execution time")
+                .baseUnit("milliseconds")
+                .register(registry);
+        counter(registry, "hibernate.statements", "Statements prepared", "status", "prepared",
+                Statistics::getPrepareStatementCount);
+        counter(registry, "hibernate.statements", "Statements closed", "status", "closed",
+                Statistics::getCloseStatementCount);
+        counter(registry, "hibernate.flushes", "Session flushes", Statistics::getFlushCount);
+        counter(registry, "hibernate.optimistic.failures", "Optimistic lock failures",
+                Statistics::getOptimisticFailureCount);
+
+        // Second-level and query cache (Ingredient, Role, Category, user roles)
+        counter(registry, "hibernate.second.level.cache.requests", "Second-level cache hits", "result", "hit",
+                Statistics::getSecondLevelCacheHitCount);
+        counter(registry, "hibernate.second.level.cache.requests", "Second-level cache misses", "result", "miss",
+                Statistics::getSecondLevelCacheMissCount);
+        counter(registry, "hibernate.second.level.cache.puts", "Second-level cache puts",
+                Statistics::getSecondLevelCachePutCount);
+        counter(registry, "hibernate.query.cache.requests", "Query cache hits", "result", "hit",
+                Statistics::getQueryCacheHitCount);
+        counter(registry, "hibernate.query.cache.requests", "Query cache misses", "result", "miss",
+                Statistics::getQueryCacheMissCount);
+
+        // Sessions and transactions
+        counter(registry, "hibernate.sessions.open", "Sessions opened", Statistics::getSessionOpenCount);
+        counter(registry, "hibernate.transactions", "Successful transactions", "result", "success",
+                Statistics::getSuccessfulTransactionCount);
+        counter(registry, "hibernate.transactions", "Failed transactions", "result", "failure",
+                statistics -> statistics.getTransactionCount() - statistics.getSuccessfulTransactionCount());
+    }
+
+    private void counter(MeterRegistry registry, String name, String description,
+            ToDoubleFunction<Statistics> function) {
+        FunctionCounter.builder(name, statistics, function)
+                .description(description)
+                .register(registry);
+    }
+
+    private void counter(MeterRegistry registry, String name, String description, String tagKey, String tagValue,
+            ToDoubleFunction<Statistics> function) {
+        FunctionCounter.builder(name, statistics, function)
+                .description(description)
+                .tag(tagKey, tagValue)
+                .register(registry);
+    }
+}
@@ -2,42 +2,54 @@ package com.congdinh.recipeapi.config;
 
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.web.filter.GenericFilterBean;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.congdinh.recipeapi.services.TokenService;
 
 import java.io.IOException;
 
-public class JWTFilter extends GenericFilterBean {
+public class JWTFilter extends OncePerRequestFilter {
 
     private final TokenService tokenService;
 
-    public JWTFilter(TokenService tokenService) {
+    // Matcher for permitAll routes - built once, requests there never read the token
+    private final RequestMatcher publicPathsMatcher;
+
+    public JWTFilter(TokenService tokenService, RequestMatcher... publicPaths) {
         this.tokenService = tokenService;
+        this.publicPathsMatcher = new OrRequestMatcher(publicPaths);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return publicPathsMatcher.matches(request);
     }
 
     @Override
-    public void doFilter(
-            ServletRequest servletRequest,
-            ServletResponse servletResponse,
+    protected void doFilterInternal(
+            HttpServletRequest httpServletRequest,
+            HttpServletResponse httpServletResponse,
             FilterChain filterChain) throws IOException, ServletException {
 
-        HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequest;
         String bearerToken = httpServletRequest.getHeader("Authorization");
-        String jwtToken = null;
 
+        // Anonymous request => nothing to parse
         if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
-            jwtToken = bearerToken.substring(7);
-        }
+            String jwtToken = bearerToken.substring(7);
 
-        Authentication authentication = tokenService.getAuthentication(jwtToken);
+            Authentication authentication = tokenService.getAuthentication(jwtToken);
 
-        if (authentication != null) {
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            if (authentication != null) {
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
 
-        filterChain.doFilter(servletRequest, servletResponse);
+        filterChain.doFilter(httpServletRequest, httpServletResponse);
     }
 }
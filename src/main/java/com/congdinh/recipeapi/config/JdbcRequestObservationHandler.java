@@ -0,0 +1,107 @@
+package com.congdinh.recipeapi.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationFilter;
+import io.micrometer.observation.ObservationHandler;
+
+// JDBC round-trips and JDBC time per HTTP request, recorded with the http.server.requests tags
+// http.server.requests.jdbc.statements - statements per request (distribution)
+// http.server.requests.jdbc            - time spent in JDBC per request
+// The request timer itself gets a jdbc.statements bucket tag (0, 1, 2-5, 6-20, 21+) through FILTER
+// Only statements run on a thread where the observation is in scope are counted - the request thread and
+// the async dispatch thread; a StreamingResponseBody or an executor task runs without it and is excluded
+public class JdbcRequestObservationHandler implements ObservationHandler<ServerRequestObservationContext> {
+    public static final String STATEMENTS_TAG = "jdbc.statements";
+
+    // Runs in Observation.stop before the handlers - the bucket ends up on the http.server.requests timer
+    public static final ObservationFilter FILTER = context -> {
+        JdbcStatisticsDataSource.Statistics statistics = context.get(JdbcStatisticsDataSource.Statistics.class);
+        if (context instanceof ServerRequestObservationContext && statistics != null) {
+            context.addLowCardinalityKeyValue(KeyValue.of(STATEMENTS_TAG, bucket(statistics.getStatements())));
+        }
+        return context;
+    };
+
+    private final MeterRegistry meterRegistry;
+
+    public JdbcRequestObservationHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context instanceof ServerRequestObservationContext;
+    }
+
+    @Override
+    public void onStart(ServerRequestObservationContext context) {
+        // Starts on the request thread, before security and the controller
+        context.put(JdbcStatisticsDataSource.Statistics.class, new JdbcStatisticsDataSource.Statistics());
+    }
+
+    // ServerHttpObservationFilter opens the scope around the filter chain on each thread that handles the
+    // request, so binding and clearing always happen on the same thread
+    @Override
+    public void onScopeOpened(ServerRequestObservationContext context) {
+        JdbcStatisticsDataSource.Statistics statistics = context.get(JdbcStatisticsDataSource.Statistics.class);
+        if (statistics != null) {
+            JdbcStatisticsDataSource.bind(statistics);
+        }
+    }
+
+    @Override
+    public void onScopeClosed(ServerRequestObservationContext context) {
+        JdbcStatisticsDataSource.clear();
+    }
+
+    @Override
+    public void onStop(ServerRequestObservationContext context) {
+        JdbcStatisticsDataSource.Statistics statistics = context.get(JdbcStatisticsDataSource.Statistics.class);
+        if (statistics == null) {
+            return;
+        }
+
+        var tags = Tags.empty();
+        for (var keyValue : context.getLowCardinalityKeyValues()) {
+            if (!keyValue.getKey().equals(STATEMENTS_TAG)) {
+                tags = tags.and(Tag.of(keyValue.getKey(), keyValue.getValue()));
+            }
+        }
+
+        DistributionSummary.builder("http.server.requests.jdbc.statements")
+                .description("JDBC statements executed per request")
+                .baseUnit("statements")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getStatements());
+
+        Timer.builder("http.server.requests.jdbc")
+                .description("Time spent in JDBC per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    static String bucket(int statements) {
+        if (statements <= 1) {
+            return String.valueOf(statements);
+        }
+        if (statements <= 5) {
+            return "2-5";
+        }
+        if (statements <= 20) {
+            return "6-20";
+        }
+        return "21+";
+    }
+}
@@ -0,0 +1,216 @@
+package com.congdinh.recipeapi.config;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+// Times every statement execution (round-trip): counts them for the current request and hands them to SlowQueryLog
+// executeBatch is one round-trip however many rows it sends
+// DelegatingDataSource keeps the pool reachable through unwrap - Hikari metrics still bind
+public class JdbcStatisticsDataSource extends DelegatingDataSource {
+    // Bound by JdbcRequestObservationHandler while the request observation is in scope on this thread
+    // Work handed to other threads (StreamingResponseBody, executors) is not counted
+    private static final ThreadLocal<Statistics> CURRENT = new ThreadLocal<>();
+
+    public static class Statistics {
+        private int statements;
+        private long nanos;
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+
+    private final SlowQueryLog slowQueryLog;
+
+    public JdbcStatisticsDataSource(DataSource targetDataSource, SlowQueryLog slowQueryLog) {
+        super(targetDataSource);
+        this.slowQueryLog = slowQueryLog;
+    }
+
+    static void bind(Statistics statistics) {
+        CURRENT.set(statistics);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(JdbcStatisticsDataSource.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, new ConnectionHandler(connection, slowQueryLog));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+        private final SlowQueryLog slowQueryLog;
+
+        // Set when the transaction manager turns auto-commit off, -1 outside a transaction
+        private long transactionStart = -1;
+
+        ConnectionHandler(Connection connection, SlowQueryLog slowQueryLog) {
+            this.connection = connection;
+            this.slowQueryLog = slowQueryLog;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            var result = JdbcStatisticsDataSource.invoke(connection, method, args);
+
+            switch (method.getName()) {
+                case "setAutoCommit" -> transactionStart = Boolean.FALSE.equals(args[0]) ? System.nanoTime() : -1;
+                // Without auto-commit the next transaction starts right away
+                case "commit", "rollback" -> {
+                    if (args == null && transactionStart >= 0) {
+                        transactionStart = System.nanoTime();
+                    }
+                }
+                case "close" -> transactionStart = -1;
+                default -> {
+                }
+            }
+
+            // createStatement, prepareStatement, prepareCall
+            if (result instanceof Statement statement) {
+                var type = result instanceof CallableStatement ? CallableStatement.class
+                        : result instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                var sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return Proxy.newProxyInstance(JdbcStatisticsDataSource.class.getClassLoader(),
+                        new Class<?>[] { type }, new StatementHandler(statement, sql, this));
+            }
+
+            return result;
+        }
+
+        long transactionNanos(long now) {
+            return transactionStart < 0 ? -1 : now - transactionStart;
+        }
+    }
+
+    private static class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private final String sql;
+        private final ConnectionHandler connectionHandler;
+
+        // Bind values can only be read while they are set, so with app.sql.log-parameters they are kept
+        // for every statement - the list is only allocated once a value is set
+        private final boolean captureParameters;
+
+        // Bind values by position (last row of a batch), null until the first value is set
+        private List<Object> parameters;
+        private int batchSize;
+
+        StatementHandler(Statement statement, String sql, ConnectionHandler connectionHandler) {
+            this.statement = statement;
+            this.sql = sql;
+            this.connectionHandler = connectionHandler;
+            this.captureParameters = sql != null && connectionHandler.slowQueryLog.isLogParameters();
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            var name = method.getName();
+            if (!name.startsWith("execute")) {
+                track(name, args);
+                return JdbcStatisticsDataSource.invoke(statement, method, args);
+            }
+
+            Throwable failure = null;
+            var start = System.nanoTime();
+            try {
+                return JdbcStatisticsDataSource.invoke(statement, method, args);
+            } catch (Throwable e) {
+                failure = e;
+                throw e;
+            } finally {
+                var end = System.nanoTime();
+
+                var statistics = CURRENT.get();
+                if (statistics != null) {
+                    statistics.statements++;
+                    statistics.nanos += end - start;
+                }
+
+                // Statement.execute(sql) passes the SQL here, prepared statements got it on prepare
+                var executedSql = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+                var executedBatch = name.equals("executeBatch") || name.equals("executeLargeBatch") ? batchSize : 0;
+                connectionHandler.slowQueryLog.statementExecuted(executedSql, parameters, executedBatch, end - start,
+                        connectionHandler.transactionNanos(end), failure);
+
+                if (executedBatch > 0) {
+                    batchSize = 0;
+                }
+            }
+        }
+
+        // setString(1, ...), setObject(2, ...), addBatch, clearParameters
+        private void track(String name, Object[] args) {
+            switch (name) {
+                case "addBatch" -> batchSize++;
+                case "clearBatch" -> batchSize = 0;
+                case "clearParameters" -> {
+                    if (parameters != null) {
+                        parameters.clear();
+                    }
+                }
+                default -> {
+                    if (captureParameters && name.startsWith("set") && args != null && args.length >= 2
+                            && args[0] instanceof Integer index && index > 0) {
+                        if (parameters == null) {
+                            parameters = new ArrayList<>(index);
+                        }
+                        while (parameters.size() < index) {
+                            parameters.add(null);
+                        }
+                        parameters.set(index - 1, name.equals("setNull") ? null : value(args[1]));
+                    }
+                }
+            }
+        }
+
+        private static Object value(Object value) {
+            if (value instanceof InputStream || value instanceof Reader || value instanceof Blob || value instanceof Clob) {
+                return "<" + value.getClass().getSimpleName() + ">";
+            }
+            return value;
+        }
+    }
+}
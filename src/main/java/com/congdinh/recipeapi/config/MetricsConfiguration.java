@@ -0,0 +1,58 @@
+package com.congdinh.recipeapi.config;
+
+import javax.sql.DataSource;
+
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationFilter;
+import jakarta.persistence.EntityManagerFactory;
+
+// Request, service, JDBC and Hibernate meters - /actuator/metrics
+// http.server.requests comes from Spring MVC, service.method from @Timed on the services
+@Configuration
+public class MetricsConfiguration {
+    private static final String DATA_SOURCE = "dataSource";
+
+    // Wraps the DataSource that Hibernate and JdbcTemplate use (a single pool or the routing proxy)
+    // Static - a BeanPostProcessor is created before the other beans, so settings come from the Environment
+    @Bean
+    public static BeanPostProcessor jdbcStatisticsDataSourcePostProcessor(Environment environment) {
+        var slowQueryLog = new SlowQueryLog(
+                environment.getProperty("app.sql.slow-threshold-ms", Long.class, 200L),
+                environment.getProperty("app.sql.sample-rate", Double.class, 0.0),
+                environment.getProperty("app.sql.log-parameters", Boolean.class, true));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (DATA_SOURCE.equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof JdbcStatisticsDataSource)) {
+                    return new JdbcStatisticsDataSource(dataSource, slowQueryLog);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public JdbcRequestObservationHandler jdbcRequestObservationHandler(MeterRegistry meterRegistry) {
+        return new JdbcRequestObservationHandler(meterRegistry);
+    }
+
+    @Bean
+    public ObservationFilter jdbcStatementsObservationFilter() {
+        return JdbcRequestObservationHandler.FILTER;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.jpa.properties.hibernate.generate_statistics", havingValue = "true")
+    public HibernateStatisticsMetrics hibernateStatisticsMetrics(EntityManagerFactory entityManagerFactory) {
+        return new HibernateStatisticsMetrics(entityManagerFactory.unwrap(SessionFactory.class));
+    }
+}
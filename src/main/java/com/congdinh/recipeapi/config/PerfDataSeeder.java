@@ -0,0 +1,178 @@
+package com.congdinh.recipeapi.config;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+// Seeds the perf profile database with a large catalogue through JDBC batches
+// Runs before ApplicationReadyEvent, so the search and ingredient indexes are built from the seeded rows
+@Component
+@Profile("perf")
+public class PerfDataSeeder implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(PerfDataSeeder.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    // Words for titles and descriptions - keyword searches hit a realistic share of the rows
+    private static final String[] WORDS = { "chicken", "beef", "pork", "tofu", "salmon", "shrimp", "rice", "noodle",
+            "pasta", "soup", "salad", "curry", "spicy", "sweet", "sour", "grilled", "fried", "roasted", "steamed",
+            "baked", "garlic", "ginger", "lemon", "basil", "mushroom", "tomato", "cheese", "coconut", "honey", "pepper" };
+
+    private static final String[] AMOUNTS = { "1 cup", "2 cups", "100 g", "200 g", "1 tbsp", "2 tsp", "1 piece",
+            "3 cloves", "500 ml", "a pinch" };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final int categoryCount;
+    private final int ingredientCount;
+    private final int recipeCount;
+    private final int ingredientsPerRecipe;
+    private final int userCount;
+    private final String password;
+
+    // Same catalogue on every run
+    private final Random random = new Random(42);
+
+    public PerfDataSeeder(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder,
+            @Value("${app.perf.seed.categories:200}") int categoryCount,
+            @Value("${app.perf.seed.ingredients:2000}") int ingredientCount,
+            @Value("${app.perf.seed.recipes:50000}") int recipeCount,
+            @Value("${app.perf.seed.ingredients-per-recipe:5}") int ingredientsPerRecipe,
+            @Value("${app.perf.seed.users:1000}") int userCount,
+            @Value("${app.perf.seed.password:Perf@1234}") String password) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.categoryCount = categoryCount;
+        this.ingredientCount = ingredientCount;
+        this.recipeCount = recipeCount;
+        this.ingredientsPerRecipe = Math.min(ingredientsPerRecipe, ingredientCount);
+        this.userCount = userCount;
+        this.password = password;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        var existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM recipes", Long.class);
+        if (existing != null && existing > 0) {
+            logger.info("Perf catalogue already seeded ({} recipes)", existing);
+            return;
+        }
+
+        var start = System.nanoTime();
+        var now = Timestamp.from(Instant.now());
+
+        var categoryIds = seedCategories(now);
+        var ingredientIds = seedIngredients(now);
+        seedRecipes(categoryIds, ingredientIds, now);
+        seedUsers();
+
+        logger.info("Seeded {} categories, {} ingredients, {} recipes ({} ingredients each), {} users in {} ms",
+                categoryCount, ingredientCount, recipeCount, ingredientsPerRecipe, userCount,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private List<UUID> seedCategories(Timestamp now) {
+        var rows = new ArrayList<Object[]>(categoryCount);
+        for (int i = 0; i < categoryCount; i++) {
+            rows.add(new Object[] { UUID.randomUUID().toString(), "Category " + i + " " + word(),
+                    "Recipes with " + word() + " and " + word(), 0L, now });
+        }
+
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO categories (id, name, description, version, updated_at) VALUES (?, ?, ?, ?, ?)", rows);
+
+        return rows.stream().map(row -> UUID.fromString((String) row[0])).toList();
+    }
+
+    private List<UUID> seedIngredients(Timestamp now) {
+        var rows = new ArrayList<Object[]>(ingredientCount);
+        for (int i = 0; i < ingredientCount; i++) {
+            rows.add(new Object[] { UUID.randomUUID().toString(), word() + " " + i, 0L, now });
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO ingredients (id, name, version, updated_at) VALUES (?, ?, ?, ?)", rows);
+
+        return rows.stream().map(row -> UUID.fromString((String) row[0])).toList();
+    }
+
+    // Written in chunks so 1M+ recipes do not have to fit in memory at once
+    private void seedRecipes(List<UUID> categoryIds, List<UUID> ingredientIds, Timestamp now) {
+        for (int from = 0; from < recipeCount; from += BATCH_SIZE) {
+            var to = Math.min(recipeCount, from + BATCH_SIZE);
+            var recipeRows = new ArrayList<Object[]>(to - from);
+            var recipeIngredientRows = new ArrayList<Object[]>((to - from) * ingredientsPerRecipe);
+
+            for (int i = from; i < to; i++) {
+                var recipeId = UUID.randomUUID().toString();
+
+                // Every 20th recipe has no category - the LEFT JOIN case
+                var categoryId = i % 20 == 0 || categoryIds.isEmpty() ? null
+                        : categoryIds.get(random.nextInt(categoryIds.size())).toString();
+
+                recipeRows.add(new Object[] { recipeId, "Recipe " + i + " " + word() + " " + word(),
+                        "A " + word() + " " + word() + " dish with " + word() + ", " + word() + " and " + word(),
+                        "https://example.com/recipes/" + i + ".jpg", 5 + random.nextInt(40), 10 + random.nextInt(120),
+                        1 + random.nextInt(8), categoryId, 0L, now });
+
+                // Distinct ingredients per recipe - (recipe_id, ingredient_id) is the primary key
+                var offset = random.nextInt(ingredientIds.size());
+                for (int j = 0; j < ingredientsPerRecipe; j++) {
+                    var ingredientId = ingredientIds.get((offset + j * 7) % ingredientIds.size());
+                    recipeIngredientRows.add(new Object[] { recipeId, ingredientId.toString(),
+                            AMOUNTS[random.nextInt(AMOUNTS.length)] });
+                }
+            }
+
+            jdbcTemplate.batchUpdate("INSERT INTO recipes (id, title, description, image, prep_time, cook_time, "
+                    + "servings, category_id, version, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", recipeRows);
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO recipe_ingredients (recipe_id, ingredient_id, amount) VALUES (?, ?, ?)",
+                    recipeIngredientRows);
+        }
+    }
+
+    // perfadmin (ADMIN) + user0..userN-1 (USER), all with the same password - hashed once
+    private void seedUsers() {
+        var adminRoleId = UUID.randomUUID().toString();
+        var userRoleId = UUID.randomUUID().toString();
+        jdbcTemplate.batchUpdate("INSERT INTO roles (id, name, description) VALUES (?, ?, ?)", List.of(
+                new Object[] { adminRoleId, "ADMIN", "Administrator" },
+                new Object[] { userRoleId, "USER", "User" }));
+
+        var passwordHash = passwordEncoder.encode(password);
+        var userRows = new ArrayList<Object[]>(userCount + 1);
+        var userRoleRows = new ArrayList<Object[]>(userCount + 1);
+
+        var adminId = UUID.randomUUID().toString();
+        userRows.add(new Object[] { adminId, "Perf", "Admin", "perfadmin", "perfadmin@perf.local", passwordHash });
+        userRoleRows.add(new Object[] { adminId, adminRoleId });
+
+        for (int i = 0; i < userCount; i++) {
+            var userId = UUID.randomUUID().toString();
+            userRows.add(new Object[] { userId, "Perf", "User " + i, "user" + i, "user" + i + "@perf.local",
+                    passwordHash });
+            userRoleRows.add(new Object[] { userId, userRoleId });
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, first_name, last_name, username, email, password) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", userRows);
+        jdbcTemplate.batchUpdate("INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)", userRoleRows);
+    }
+
+    private String word() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+}
@@ -0,0 +1,44 @@
+package com.congdinh.recipeapi.config;
+
+import java.util.Map;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// N+1 detection: QueryCountInspector counts Hibernate statements, QueryCountFilter checks them per request
+@Configuration
+public class QueryCountConfiguration {
+    @Bean
+    public HibernatePropertiesCustomizer queryCountInspectorCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(MeterRegistry meterRegistry,
+            @Value("${app.query-count.repeat-threshold:5}") int repeatThreshold,
+            @Value("${app.query-count.max-statements:20}") int maxStatements,
+            @Value("${app.query-count.fail:false}") boolean fail,
+            Environment environment) {
+        // app.query-count.budgets[GET /api/v1/recipes/{id}]=2 - overrides max-statements for one endpoint
+        var budgets = Binder.get(environment)
+                .bind("app.query-count.budgets", Bindable.mapOf(String.class, Integer.class))
+                .orElse(Map.of());
+
+        var registration = new FilterRegistrationBean<>(
+                new QueryCountFilter(meterRegistry, repeatThreshold, maxStatements, budgets, fail));
+        registration.addUrlPatterns("/api/*");
+        // Right after AuthPoolFilter - wraps security and the controller
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,83 @@
+package com.congdinh.recipeapi.config;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Checks the Hibernate statements of each request against the budget:
+// - a SQL shape repeated repeat-threshold times => N+1
+// - more statements than the endpoint budget (app.query-count.budgets) or max-statements
+// Production logs a warning and counts query.count.violations; fail=true (tests) throws so the build fails
+public class QueryCountFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int repeatThreshold;
+    private final int maxStatements;
+    private final Map<String, Integer> budgets;
+    private final boolean fail;
+
+    public QueryCountFilter(MeterRegistry meterRegistry, int repeatThreshold, int maxStatements,
+            Map<String, Integer> budgets, boolean fail) {
+        this.meterRegistry = meterRegistry;
+        this.repeatThreshold = repeatThreshold;
+        this.maxStatements = maxStatements;
+        this.budgets = budgets;
+        this.fail = fail;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var queryCounts = QueryCountInspector.bind();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCountInspector.clear();
+        }
+
+        // The statements are only known once the handler returned, and by then the response is usually
+        // committed - so production can only log and count, fail=true is for tests where the exception
+        // reaches the caller (MockMvc) instead of a client that already has its 200
+        check(endpoint(request), queryCounts);
+    }
+
+    private void check(String endpoint, QueryCountInspector.QueryCounts queryCounts) {
+        var mostRepeated = queryCounts.getMostRepeated();
+        if (mostRepeated != null && mostRepeated.getValue() >= repeatThreshold) {
+            violation(endpoint, "repeat", String.format("%s ran the same statement %d times (%d statements in total): %s",
+                    endpoint, mostRepeated.getValue(), queryCounts.getTotal(), mostRepeated.getKey()));
+        }
+
+        var budget = budgets.getOrDefault(endpoint, maxStatements);
+        if (queryCounts.getTotal() > budget) {
+            violation(endpoint, "budget", String.format("%s ran %d statements, budget is %d",
+                    endpoint, queryCounts.getTotal(), budget));
+        }
+    }
+
+    private void violation(String endpoint, String type, String message) {
+        meterRegistry.counter("query.count.violations", "endpoint", endpoint, "type", type).increment();
+
+        if (fail) {
+            throw new IllegalStateException("Statement budget exceeded - " + message);
+        }
+        logger.warn("Possible N+1 - {}", message);
+    }
+
+    // GET /api/v1/recipes/{id} - the mapped pattern keeps the meter tags and budget keys bounded
+    private static String endpoint(HttpServletRequest request) {
+        var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "UNKNOWN");
+    }
+}
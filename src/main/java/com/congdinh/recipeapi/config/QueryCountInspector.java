@@ -0,0 +1,65 @@
+package com.congdinh.recipeapi.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Sees every SQL statement Hibernate prepares - counts them per request and per SQL shape
+// Same shape many times in one request = N+1 (a lazy association loaded row by row)
+// JdbcTemplate statements (bulk import/export) do not go through Hibernate and are not counted
+public class QueryCountInspector implements StatementInspector {
+    // IN (?, ?, ?) and IN (?) are the same query
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // Bound by QueryCountFilter for the duration of a request
+    private static final ThreadLocal<QueryCounts> CURRENT = new ThreadLocal<>();
+
+    public static class QueryCounts {
+        private int total;
+        private final Map<String, Integer> shapes = new HashMap<>();
+
+        public int getTotal() {
+            return total;
+        }
+
+        // SQL shape => times prepared
+        public Map<String, Integer> getShapes() {
+            return shapes;
+        }
+
+        // Most repeated shape, or null when nothing ran
+        public Map.Entry<String, Integer> getMostRepeated() {
+            return shapes.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+        }
+    }
+
+    static QueryCounts bind() {
+        var queryCounts = new QueryCounts();
+        CURRENT.set(queryCounts);
+        return queryCounts;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        var queryCounts = CURRENT.get();
+        if (queryCounts != null) {
+            queryCounts.total++;
+            queryCounts.shapes.merge(shape(sql), 1, Integer::sum);
+        }
+
+        // Statement is not changed
+        return sql;
+    }
+
+    static String shape(String sql) {
+        var shape = IN_LIST.matcher(sql).replaceAll("in (?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
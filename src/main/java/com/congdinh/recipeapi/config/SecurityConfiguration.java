@@ -1,33 +1,56 @@
 package com.congdinh.recipeapi.config;
 
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
+
 import java.util.Collections;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
 
 import com.congdinh.recipeapi.services.TokenService;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 public class SecurityConfiguration {
 
+    // permitAll routes - JWTFilter skips token parsing for them
+    // Category browsing is public for reads only, writes still need a token
+    private static final RequestMatcher[] PUBLIC_PATHS = {
+            antMatcher("/api/auth/**"),
+            antMatcher("/swagger-ui/**"), antMatcher("/swagger-ui.html"), antMatcher("/api-docs/**"),
+            antMatcher(HttpMethod.GET, "/api/v1/categories/**")
+    };
+
     private final TokenService tokenService;
 
     public SecurityConfiguration(TokenService tokenService) {
         this.tokenService = tokenService;
     }
     
+    // BCrypt runs on a bounded pool - 0 threads = half of the CPUs
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.security.password-hash.threads:0}") int threads,
+            @Value("${app.security.password-hash.queue-capacity:50}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        if (threads <= 0) {
+            threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        }
+
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, queueCapacity, meterRegistry);
     }
 
     @Bean
@@ -49,11 +72,9 @@ public class SecurityConfiguration {
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http.csrf(csrf -> csrf.disable())
                 .addFilterBefore(corsFilter(), UsernamePasswordAuthenticationFilter.class)
-                .addFilterBefore(new JWTFilter(tokenService), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new JWTFilter(tokenService, PUBLIC_PATHS), UsernamePasswordAuthenticationFilter.class)
                 .authorizeHttpRequests(authorizeRequests -> authorizeRequests
-                        .requestMatchers("/api/auth/**").permitAll()
-                        .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
-                        .requestMatchers("/api/categories/**").permitAll()
+                        .requestMatchers(PUBLIC_PATHS).permitAll()
                         .requestMatchers("/api/roles/**").hasRole("ADMIN")
                         .requestMatchers("/api/users/**").hasRole("ADMIN")
                         .requestMatchers("/api/recipes/**").hasRole("ADMIN")
@@ -0,0 +1,106 @@
+package com.congdinh.recipeapi.config;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+// Replaces spring.jpa.show-sql: logs statements slower than the threshold plus a sampled share of the rest,
+// with bind values, the controller method and how long the transaction has been open
+// Written through the ASYNC_SQL appender in logback-spring.xml - request threads never wait for the console
+public class SlowQueryLog {
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private static final int MAX_VALUE_LENGTH = 100;
+
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final boolean logParameters;
+
+    public SlowQueryLog(long thresholdMillis, double sampleRate, boolean logParameters) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.sampleRate = sampleRate;
+        this.logParameters = logParameters;
+    }
+
+    // Slow statements log at WARN, so bind values are worth keeping as long as WARN is on
+    boolean isLogParameters() {
+        return logParameters && logger.isWarnEnabled();
+    }
+
+    // transactionNanos < 0 => auto-commit statement
+    void statementExecuted(String sql, List<Object> parameters, int batchSize, long nanos, long transactionNanos,
+            Throwable failure) {
+        var slow = nanos >= thresholdNanos;
+        if (slow ? !logger.isWarnEnabled()
+                : sampleRate <= 0 || !logger.isInfoEnabled() || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+
+        var message = new StringBuilder()
+                .append(slow ? "Slow query " : "Sampled query ")
+                .append(TimeUnit.NANOSECONDS.toMillis(nanos)).append(" ms")
+                .append(" | caller ").append(caller())
+                .append(" | tx ")
+                .append(transactionNanos < 0 ? "auto-commit" : TimeUnit.NANOSECONDS.toMillis(transactionNanos) + " ms");
+        if (batchSize > 0) {
+            message.append(" | batch ").append(batchSize);
+        }
+        if (failure != null) {
+            message.append(" | failed ").append(failure.getClass().getSimpleName());
+        }
+        message.append(" | ").append(sql);
+        if (parameters != null && !parameters.isEmpty()) {
+            message.append(" | params ").append(format(parameters));
+        }
+
+        if (slow) {
+            logger.warn(message.toString());
+        } else {
+            logger.info(message.toString());
+        }
+    }
+
+    // RecipeController#findById - the handler picked for the current request, if any
+    private static String caller() {
+        var requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return Thread.currentThread().getName();
+        }
+
+        var handler = requestAttributes.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            return handlerMethod.getBeanType().getSimpleName() + "#" + handlerMethod.getMethod().getName();
+        }
+
+        return Thread.currentThread().getName();
+    }
+
+    private static String format(List<Object> parameters) {
+        var formatted = new StringBuilder("[");
+        for (int i = 0; i < parameters.size(); i++) {
+            if (i > 0) {
+                formatted.append(", ");
+            }
+
+            var value = parameters.get(i);
+            if (value instanceof CharSequence text) {
+                var shown = text.length() > MAX_VALUE_LENGTH ? text.subSequence(0, MAX_VALUE_LENGTH) + "..." : text;
+                formatted.append('\'').append(shown).append('\'');
+            } else if (value instanceof byte[] bytes) {
+                formatted.append("<").append(bytes.length).append(" bytes>");
+            } else {
+                formatted.append(value);
+            }
+        }
+
+        return formatted.append(']').toString();
+    }
+}
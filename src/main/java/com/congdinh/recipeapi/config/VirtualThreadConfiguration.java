@@ -0,0 +1,24 @@
+package com.congdinh.recipeapi.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+
+// Active with spring.threads.virtual.enabled=true (virtual-threads profile)
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfiguration {
+    // Jackson recycles its read/write buffers per thread by default - every request runs on a new
+    // virtual thread, so nothing would be reused; share one pool across threads instead
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sharedJsonRecyclerPool() {
+        return builder -> builder.factory(JsonFactory.builder()
+                .recyclerPool(JsonRecyclerPools.sharedConcurrentDequePool())
+                .build());
+    }
+}
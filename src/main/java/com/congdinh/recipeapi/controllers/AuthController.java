@@ -37,6 +37,7 @@ public class AuthController {
     @PostMapping("/login")
     @Operation(summary = "Login")
     @ApiResponse(responseCode = "200", description = "Return access token")
+    @ApiResponse(responseCode = "503", description = "Too many login requests in progress")
     public ResponseEntity<LoginResponseDTO> login(@Valid @RequestBody LoginDTO loginRequest) {
         UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
                 loginRequest.getUsername(), loginRequest.getPassword());
@@ -58,6 +59,7 @@ public class AuthController {
     @Operation(summary = "Register")
     @ApiResponse(responseCode = "200", description = "Return true if register success")
     @ApiResponse(responseCode = "400", description = "Return false if username exists")
+    @ApiResponse(responseCode = "503", description = "Too many login requests in progress")
     public ResponseEntity<Boolean> register(@Valid @RequestBody UserCreateDTO userCreateDTO) {
         if (authService.existsByUsername(userCreateDTO.getUsername())) {
             return ResponseEntity.badRequest().body(false);
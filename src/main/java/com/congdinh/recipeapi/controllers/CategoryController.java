@@ -7,12 +7,14 @@ import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import com.congdinh.recipeapi.dto.category.CategoryCreateDTO;
 import com.congdinh.recipeapi.dto.category.CategoryDTO;
 import com.congdinh.recipeapi.dto.category.CategorySearchDTO;
 import com.congdinh.recipeapi.dto.core.SortDirection;
 import com.congdinh.recipeapi.services.CategoryService;
+import com.congdinh.recipeapi.services.KeysetPaging;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -34,15 +36,26 @@ public class CategoryController {
 
     // Get all - GetMapping - /api/v1/categories
     // Search - GetMapping - /api/v1/categories?keyword=...&page=...&size=...
+    // Keyset - GetMapping - /api/v1/categories?keyword=...&size=...&after=...
     @GetMapping
     @Operation(summary = "Get all categories or search categories by keyword")
     @ApiResponse(responseCode = "200", description = "Return all categories or search categories by keyword")
+    @ApiResponse(responseCode = "304", description = "Categories not modified since the ETag in If-None-Match")
     public ResponseEntity<?> search(
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false, defaultValue = "name") String sortBy, // Xac dinh truong sap xep
             @RequestParam(required = false, defaultValue = "asc") String order, // Xac dinh chieu sap xep
             @RequestParam(required = false, defaultValue = "0") Integer page,
-            @RequestParam(required = false, defaultValue = "2") Integer size) {
+            @RequestParam(required = false, defaultValue = "2") Integer size,
+            @RequestParam(required = false) String after, // Cursor cua trang truoc - keyset mode
+            @RequestParam(required = false, defaultValue = "false") Boolean keyset,
+            WebRequest webRequest) {
+        // Any category change modifies the list version - answer 304 before searching
+        // checkNotModified also sets the ETag header on the response
+        if (webRequest.checkNotModified(categoryService.findListVersion())) {
+            return null;
+        }
+
         // Check sort order
         Pageable pageable = null;
 
@@ -52,6 +65,13 @@ public class CategoryController {
             pageable = PageRequest.of(page, size, Sort.by(sortBy).descending());
         }
 
+        // Keyset mode - seek after the cursor, no COUNT query and no total pages
+        if (keyset || after != null) {
+            var slice = categoryService.findAllAfter(keyword, after, pageable);
+
+            return ResponseEntity.ok(KeysetPaging.toModel(slice));
+        }
+
         // Search category by keyword and paging
         var categories = categoryService.findAll(keyword, pageable);
 
@@ -94,7 +114,19 @@ public class CategoryController {
     @Operation(summary = "Get category by id")
     @ApiResponse(responseCode = "200", description = "Return category by id")
     @ApiResponse(responseCode = "404", description = "Category not found")
-    public ResponseEntity<?> findById(@PathVariable UUID id) {
+    @ApiResponse(responseCode = "304", description = "Category not modified since the ETag in If-None-Match")
+    public ResponseEntity<?> findById(@PathVariable UUID id, WebRequest webRequest) {
+        // Read the version before the category, so the ETag is never newer than the body
+        var version = categoryService.findVersionById(id);
+        if (version == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // If-None-Match matches => 304 Not Modified, checkNotModified also sets the ETag header
+        if (webRequest.checkNotModified(version)) {
+            return null;
+        }
+
         var category = categoryService.findById(id);
         // Check if category is null => return 404 Not Found
         if (category == null) {
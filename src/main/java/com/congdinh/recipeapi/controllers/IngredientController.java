@@ -14,6 +14,7 @@ import com.congdinh.recipeapi.dto.ingredient.IngredientCreateDTO;
 import com.congdinh.recipeapi.dto.ingredient.IngredientDTO;
 import com.congdinh.recipeapi.dto.ingredient.IngredientSearchDTO;
 import com.congdinh.recipeapi.services.IngredientService;
+import com.congdinh.recipeapi.services.KeysetPaging;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -35,6 +36,7 @@ public class IngredientController {
 
     // Get all - GetMapping - /api/v1/ingredients
     // Search - GetMapping - /api/v1/ingredients?keyword=...&page=...&size=...
+    // Keyset - GetMapping - /api/v1/ingredients?keyword=...&size=...&after=...
     @GetMapping
     @Operation(summary = "Get all ingredients or search ingredients by keyword")
     @ApiResponse(responseCode = "200", description = "Return all ingredients or search ingredients by keyword")
@@ -43,7 +45,9 @@ public class IngredientController {
             @RequestParam(required = false, defaultValue = "name") String sortBy, // Xac dinh truong sap xep
             @RequestParam(required = false, defaultValue = "asc") String order, // Xac dinh chieu sap xep
             @RequestParam(required = false, defaultValue = "0") Integer page,
-            @RequestParam(required = false, defaultValue = "10") Integer size) {
+            @RequestParam(required = false, defaultValue = "10") Integer size,
+            @RequestParam(required = false) String after, // Cursor cua trang truoc - keyset mode
+            @RequestParam(required = false, defaultValue = "false") Boolean keyset) {
         // Check sort order
         Pageable pageable = null;
 
@@ -53,6 +57,13 @@ public class IngredientController {
             pageable = PageRequest.of(page, size, Sort.by(sortBy).descending());
         }
 
+        // Keyset mode - seek after the cursor, no COUNT query and no total pages
+        if (keyset || after != null) {
+            var slice = ingredientService.findAllAfter(keyword, after, pageable);
+
+            return ResponseEntity.ok(KeysetPaging.toModel(slice));
+        }
+
         // Search ingredient by keyword and paging
         var ingredients = ingredientService.findAll(keyword, pageable);
 
@@ -90,6 +101,19 @@ public class IngredientController {
         return ResponseEntity.ok(pagedModel);
     }
 
+    // Suggest - GetMapping - /api/v1/ingredients/suggest?prefix=...&limit=...
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest ingredients whose name starts with prefix")
+    @ApiResponse(responseCode = "200", description = "Return up to limit matching ingredients")
+    @ApiResponse(responseCode = "400", description = "Bad Request")
+    public ResponseEntity<?> suggest(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(required = false, defaultValue = "10") Integer limit) {
+        var ingredients = ingredientService.suggest(prefix, limit);
+
+        return ResponseEntity.ok(ingredients);
+    }
+
     // Get by id - GetMapping - /api/v1/ingredients/{id}
     @GetMapping("/{id}")
     @Operation(summary = "Get ingredient by id")
@@ -1,17 +1,31 @@
 package com.congdinh.recipeapi.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Set;
 import java.util.UUID;
 
 import org.springframework.data.domain.*;
 import org.springframework.data.web.PagedResourcesAssembler;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.congdinh.recipeapi.dto.core.SortDirection;
 import com.congdinh.recipeapi.dto.recipe.*;
+import com.congdinh.recipeapi.services.KeysetPaging;
+import com.congdinh.recipeapi.services.RecipeImportService;
 import com.congdinh.recipeapi.services.RecipeService;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -21,17 +35,26 @@ import jakarta.validation.Valid;
 @RequestMapping("/api/v1/recipes")
 @Tag(name = "recipes", description = "The Recipe API")
 public class RecipeController {
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int EXPORT_FLUSH_SIZE = 500;
+
     private final RecipeService recipeService;
+    private final RecipeImportService recipeImportService;
     private final PagedResourcesAssembler<RecipeDTO> pagedResourcesAssembler;
+    private final ObjectMapper objectMapper;
 
-    public RecipeController(RecipeService recipeService,
-            PagedResourcesAssembler<RecipeDTO> pagedResourcesAssembler) {
+    public RecipeController(RecipeService recipeService, RecipeImportService recipeImportService,
+            PagedResourcesAssembler<RecipeDTO> pagedResourcesAssembler, ObjectMapper objectMapper) {
         this.recipeService = recipeService;
+        this.recipeImportService = recipeImportService;
         this.pagedResourcesAssembler = pagedResourcesAssembler;
+        this.objectMapper = objectMapper;
     }
 
     // Get all - GetMapping - /api/v1/recipes
     // Search - GetMapping - /api/v1/recipes?keyword=...&page=...&size=...
+    // Keyset - GetMapping - /api/v1/recipes?keyword=...&size=...&after=...
+    // Fields - GetMapping - /api/v1/recipes?fields=id,title,image - only these fields, unknown names answer 400
     @GetMapping
     @Operation(summary = "Get all recipes or search recipes by keyword")
     @ApiResponse(responseCode = "200", description = "Return all recipes or search recipes by keyword")
@@ -40,7 +63,10 @@ public class RecipeController {
             @RequestParam(required = false, defaultValue = "title") String sortBy, // Xac dinh truong sap xep
             @RequestParam(required = false, defaultValue = "asc") String order, // Xac dinh chieu sap xep
             @RequestParam(required = false, defaultValue = "0") Integer page,
-            @RequestParam(required = false, defaultValue = "2") Integer size) {
+            @RequestParam(required = false, defaultValue = "2") Integer size,
+            @RequestParam(required = false) String after, // Cursor cua trang truoc - keyset mode
+            @RequestParam(required = false, defaultValue = "false") Boolean keyset,
+            @RequestParam(required = false) Set<String> fields) { // Cac truong tra ve, bo trong = tat ca
         // Check sort order
         Pageable pageable = null;
 
@@ -50,8 +76,15 @@ public class RecipeController {
             pageable = PageRequest.of(page, size, Sort.by(sortBy).descending());
         }
 
+        // Keyset mode - seek after the cursor, no COUNT query and no total pages
+        if (keyset || after != null) {
+            var slice = recipeService.findAllAfter(keyword, after, pageable, fields);
+
+            return ResponseEntity.ok(KeysetPaging.toModel(slice));
+        }
+
         // Search recipe by keyword and paging
-        var recipes = recipeService.findAll(keyword, pageable);
+        var recipes = recipeService.findAll(keyword, pageable, fields);
 
         // Convert to PagedModel - Enhance data with HATEOAS - Easy to navigate with
         // links
@@ -87,12 +120,82 @@ public class RecipeController {
         return ResponseEntity.ok(pagedModel);
     }
 
+    // Export - GetMapping - /api/v1/recipes/export
+    // One recipe with its ingredients per line, streamed while reading from the database
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @Operation(summary = "Export all recipes with ingredients as newline-delimited JSON")
+    @ApiResponse(responseCode = "200", description = "Stream all recipes, one JSON document per line")
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = outputStream -> {
+            var generator = objectMapper.getFactory().createGenerator(outputStream);
+            // Response stream is closed by the container, not by Jackson
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are separated by the explicit '\n' below instead of the default space
+            generator.setRootValueSeparator(null);
+
+            var written = new int[1];
+            try {
+                recipeService.exportAll(recipe -> {
+                    try {
+                        generator.writeObject(recipe);
+                        generator.writeRaw('\n');
+
+                        // Push a chunk to the client every EXPORT_FLUSH_SIZE recipes
+                        if (++written[0] % EXPORT_FLUSH_SIZE == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            generator.flush();
+        };
+
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    // By ingredients - PostMapping - /api/v1/recipes/by-ingredients
+    // Recipes using the given ingredients, best coverage first
+    @PostMapping("/by-ingredients")
+    @Operation(summary = "Find recipes by available ingredients")
+    @ApiResponse(responseCode = "200", description = "Return recipes ordered by ratio of available ingredients")
+    @ApiResponse(responseCode = "400", description = "Bad Request")
+    public ResponseEntity<?> findByIngredients(@Valid @RequestBody RecipeByIngredientsDTO recipeByIngredientsDTO,
+            BindingResult bindingResult) {
+        // Validate recipeByIngredientsDTO
+        if (bindingResult.hasErrors()) {
+            return ResponseEntity.badRequest().body(bindingResult.getAllErrors());
+        }
+
+        var recipes = recipeService.findByIngredients(recipeByIngredientsDTO.getIngredientIds(),
+                recipeByIngredientsDTO.getSize());
+
+        return ResponseEntity.ok(recipes);
+    }
+
     // Get by id - GetMapping - /api/v1/recipes/{id}
     @GetMapping("/{id}")
     @Operation(summary = "Get recipe by id")
     @ApiResponse(responseCode = "200", description = "Return recipe by id")
     @ApiResponse(responseCode = "404", description = "Recipe not found")
-    public ResponseEntity<?> findById(@PathVariable UUID id) {
+    @ApiResponse(responseCode = "304", description = "Recipe not modified since the ETag in If-None-Match")
+    public ResponseEntity<?> findById(@PathVariable UUID id, WebRequest webRequest) {
+        // Read the version before the recipe, so the ETag is never newer than the body
+        var version = recipeService.findVersionById(id);
+        if (version == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // If-None-Match matches => 304 Not Modified without loading the recipe
+        // checkNotModified also sets the ETag header on the response
+        if (webRequest.checkNotModified(version)) {
+            return null;
+        }
+
         var recipe = recipeService.findById(id);
         // Check if recipe is null => return 404 Not Found
         if (recipe == null) {
@@ -126,6 +229,24 @@ public class RecipeController {
         return ResponseEntity.status(201).body(newRecipe);
     }
 
+    // Import - PostMapping - /api/v1/recipes/import
+    // Body is a JSON array or newline-delimited JSON of RecipeCreateDTO, read row by row
+    @PostMapping(value = "/import", consumes = { MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson" })
+    @Operation(summary = "Import recipes in bulk")
+    @ApiResponse(responseCode = "200", description = "Return the import result of every row")
+    @ApiResponse(responseCode = "400", description = "Bad Request")
+    public ResponseEntity<?> importRecipes(InputStream inputStream) throws IOException {
+        // readValues iterates the elements of a root array or a sequence of root values
+        try (MappingIterator<RecipeCreateDTO> recipes = objectMapper.readerFor(RecipeCreateDTO.class)
+                .readValues(inputStream)) {
+            var report = recipeImportService.importRecipes(recipes);
+
+            return ResponseEntity.ok(report);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid import body: " + e.getOriginalMessage());
+        }
+    }
+
     // Update - PutMapping - /api/v1/recipes/{id}
     @PutMapping("/{id}")
     @Operation(summary = "Update recipe by id")
@@ -13,6 +13,7 @@ import com.congdinh.recipeapi.dto.user.UserCreateDTO;
 import com.congdinh.recipeapi.dto.user.UserDTO;
 import com.congdinh.recipeapi.dto.user.UserEditDTO;
 import com.congdinh.recipeapi.dto.user.UserSearchDTO;
+import com.congdinh.recipeapi.services.KeysetPaging;
 import com.congdinh.recipeapi.services.UserService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -35,6 +36,7 @@ public class UserController {
 
     // Get all - GetMapping - /api/v1/users
     // Search - GetMapping - /api/v1/users?keyword=...&page=...&size=...
+    // Keyset - GetMapping - /api/v1/users?keyword=...&size=...&after=...
     @GetMapping
     @Operation(summary = "Get all users or search users by keyword")
     @ApiResponse(responseCode = "200", description = "Return all users or search users by keyword")
@@ -43,7 +45,9 @@ public class UserController {
             @RequestParam(required = false, defaultValue = "firstName") String sortBy, // Xac dinh truong sap xep
             @RequestParam(required = false, defaultValue = "asc") String order, // Xac dinh chieu sap xep
             @RequestParam(required = false, defaultValue = "0") Integer page,
-            @RequestParam(required = false, defaultValue = "10") Integer size) {
+            @RequestParam(required = false, defaultValue = "10") Integer size,
+            @RequestParam(required = false) String after, // Cursor cua trang truoc - keyset mode
+            @RequestParam(required = false, defaultValue = "false") Boolean keyset) {
         // Check sort order
         Pageable pageable = null;
 
@@ -53,6 +57,13 @@ public class UserController {
             pageable = PageRequest.of(page, size, Sort.by(sortBy).descending());
         }
 
+        // Keyset mode - seek after the cursor, no COUNT query and no total pages
+        if (keyset || after != null) {
+            var slice = userService.findAllAfter(keyword, after, pageable);
+
+            return ResponseEntity.ok(KeysetPaging.toModel(slice));
+        }
+
         // Search user by keyword and paging
         var users = userService.findAll(keyword, pageable);
 
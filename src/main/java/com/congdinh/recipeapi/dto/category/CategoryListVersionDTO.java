@@ -0,0 +1,17 @@
+package com.congdinh.recipeapi.dto.category;
+
+import java.time.Instant;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryListVersionDTO {
+    private Long count;
+
+    private Long versionSum;
+
+    private Instant lastUpdatedAt;
+}
@@ -0,0 +1,19 @@
+package com.congdinh.recipeapi.dto.core;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import lombok.Getter;
+
+// Slice loaded without a count query, nextCursor is the opaque "after" value of the next slice
+@Getter
+public class KeysetSlice<T> extends SliceImpl<T> {
+    private final String nextCursor;
+
+    public KeysetSlice(List<T> content, Pageable pageable, String nextCursor) {
+        super(content, pageable, nextCursor != null);
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,21 @@
+package com.congdinh.recipeapi.dto.recipe;
+
+import java.util.*;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeByIngredientsDTO {
+    @NotEmpty(message = "Ingredients is not empty")
+    @Size(max = 100, message = "At most 100 ingredients")
+    private Set<UUID> ingredientIds;
+
+    @NotNull(message = "Size is required")
+    @Positive(message = "Size must be greater than 0")
+    @Max(value = 100, message = "Size must be at most 100")
+    private Integer size = 20;
+}
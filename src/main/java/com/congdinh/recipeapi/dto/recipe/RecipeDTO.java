@@ -4,6 +4,8 @@ import java.util.*;
 
 import org.hibernate.validator.constraints.Length;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import com.congdinh.recipeapi.dto.category.CategoryDTO;
 import com.congdinh.recipeapi.dto.ingredient.IngredientDTO;
 
@@ -14,6 +16,7 @@ import lombok.*;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL) // Fields left out with ?fields= are not sent as null
 public class RecipeDTO {
     private UUID id;
 
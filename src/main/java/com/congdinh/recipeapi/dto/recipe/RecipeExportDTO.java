@@ -0,0 +1,31 @@
+package com.congdinh.recipeapi.dto.recipe;
+
+import java.util.*;
+
+import com.congdinh.recipeapi.dto.category.CategoryDTO;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeExportDTO {
+    private UUID id;
+
+    private String title;
+
+    private String description;
+
+    private String image; // URL to image
+
+    private Integer prepTime; // in minutes
+
+    private Integer cookTime; // in minutes
+
+    private Integer servings; // number of servings
+
+    private CategoryDTO category;
+
+    private List<RecipeIngredientDTO> ingredients;
+}
@@ -0,0 +1,37 @@
+package com.congdinh.recipeapi.dto.recipe;
+
+import java.util.UUID;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeExportRowDTO {
+    private UUID id;
+
+    private String title;
+
+    private String description;
+
+    private String image;
+
+    private Integer prepTime;
+
+    private Integer cookTime;
+
+    private Integer servings;
+
+    private UUID categoryId;
+
+    private String categoryName;
+
+    private String categoryDescription;
+
+    private UUID ingredientId;
+
+    private String ingredientName;
+
+    private String amount;
+}
@@ -0,0 +1,19 @@
+package com.congdinh.recipeapi.dto.recipe;
+
+import java.util.*;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeImportReportDTO {
+    private int total;
+
+    private int created;
+
+    private int failed;
+
+    private List<RecipeImportResultDTO> results;
+}
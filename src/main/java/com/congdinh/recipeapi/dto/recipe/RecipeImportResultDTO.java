@@ -0,0 +1,21 @@
+package com.congdinh.recipeapi.dto.recipe;
+
+import java.util.*;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeImportResultDTO {
+    private int row; // 1-based position in the request body
+
+    private String title;
+
+    private UUID id; // id of the created recipe
+
+    private RecipeImportStatus status;
+
+    private List<String> errors;
+}
@@ -0,0 +1,6 @@
+package com.congdinh.recipeapi.dto.recipe;
+
+public enum RecipeImportStatus {
+    CREATED,
+    FAILED
+}
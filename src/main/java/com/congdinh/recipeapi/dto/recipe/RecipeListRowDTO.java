@@ -0,0 +1,34 @@
+package com.congdinh.recipeapi.dto.recipe;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeListRowDTO {
+    private UUID id;
+
+    private String title;
+
+    private String description;
+
+    private String image;
+
+    private Integer prepTime;
+
+    private Integer cookTime;
+
+    private Integer servings;
+
+    private Instant updatedAt; // keyset paging by most recently updated
+
+    private UUID categoryId;
+
+    private String categoryName;
+
+    private String categoryDescription;
+}
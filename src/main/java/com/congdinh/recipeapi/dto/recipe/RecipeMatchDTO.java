@@ -0,0 +1,17 @@
+package com.congdinh.recipeapi.dto.recipe;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeMatchDTO {
+    private RecipeDTO recipe;
+
+    private int matchedIngredients; // available ingredients used by the recipe
+
+    private int totalIngredients; // all ingredients of the recipe
+
+    private double matchRatio; // matchedIngredients / totalIngredients
+}
@@ -0,0 +1,17 @@
+package com.congdinh.recipeapi.dto.recipe;
+
+import java.util.UUID;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeSearchDocumentDTO {
+    private UUID id;
+
+    private String title;
+
+    private String description;
+}
@@ -0,0 +1,15 @@
+package com.congdinh.recipeapi.dto.recipe;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecipeVersionDTO {
+    private Long version;
+
+    private Long categoryVersion;
+
+    private Long ingredientsVersion; // Sum of the versions of all ingredients in the recipe
+}
@@ -1,7 +1,12 @@
 package com.congdinh.recipeapi.entities;
 
+import java.time.Instant;
 import java.util.*;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -10,6 +15,8 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "category") // Reference data - second-level cache
 @Table(name = "categories")
 public class Category {
     @Id
@@ -22,6 +29,14 @@ public class Category {
     @Column(name = "description", columnDefinition = "NVARCHAR(500)")
     private String description;
 
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version; // Optimistic lock, also the source of the ETag
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     @OneToMany(mappedBy = "category")
     private List<Recipe> recipes;
 }
@@ -1,7 +1,12 @@
 package com.congdinh.recipeapi.entities;
 
+import java.time.Instant;
 import java.util.*;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -10,6 +15,8 @@ import lombok.*;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "ingredient") // Reference data - second-level cache
 @Table(name = "ingredients")
 public class Ingredient {
     @Id
@@ -19,6 +26,14 @@ public class Ingredient {
     @Column(name = "name", unique = true, nullable = false, columnDefinition = "NVARCHAR(255)")
     private String name;
 
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version; // Optimistic lock, also the source of the ETag
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     @OneToMany(mappedBy = "ingredient")
     private Set<RecipeIngredient> recipes;
 }
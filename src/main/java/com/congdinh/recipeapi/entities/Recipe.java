@@ -1,7 +1,10 @@
 package com.congdinh.recipeapi.entities;
 
+import java.time.Instant;
 import java.util.*;
 
+import org.hibernate.annotations.UpdateTimestamp;
+
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -34,6 +37,14 @@ public class Recipe {
     @Column(name = "servings", nullable = false, columnDefinition = "INT CHECK (servings >= 0) DEFAULT 0")
     private Integer servings; // number of servings
 
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private Long version; // Optimistic lock, also the source of the ETag
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
     @ManyToOne
     @JoinColumn(name = "category_id", referencedColumnName = "id")
     private Category category;
@@ -3,6 +3,9 @@ package com.congdinh.recipeapi.entities;
 import java.util.Set;
 import java.util.UUID;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -34,6 +37,7 @@ public class User {
                              // $2a$10$KrR0wMdD86BNfbfbqr.a2e7OPqRXiLe6ZzREML53n47p9rHVII52. => Admin@1234
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-roles") // Role ids of the user, roles come from the Role cache
     @JoinTable(name = "user_roles", joinColumns = @JoinColumn(name = "user_id"), inverseJoinColumns = @JoinColumn(name = "role_id"))
     private Set<Role> roles;
 }
@@ -1,12 +1,29 @@
 package com.congdinh.recipeapi.repositories;
 
+import java.util.Optional;
 import java.util.UUID;
 
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import com.congdinh.recipeapi.dto.category.CategoryListVersionDTO;
 import com.congdinh.recipeapi.entities.Category;
 
 public interface CategoryRepository extends JpaRepository<Category, UUID>, JpaSpecificationExecutor<Category> {
+    // Result kept in the query cache until the categories table changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Category findByName(String name);
+
+    @Query("SELECT c.version FROM Category c WHERE c.id = :id")
+    Optional<Long> findVersionById(UUID id);
+
+    // Changes on insert (count, updated_at), update (version) and delete (count)
+    @Query("SELECT new com.congdinh.recipeapi.dto.category.CategoryListVersionDTO(COUNT(c), "
+            + "COALESCE(SUM(c.version), 0L), MAX(c.updatedAt)) FROM Category c")
+    CategoryListVersionDTO findListVersion();
 }
@@ -1,12 +1,28 @@
 package com.congdinh.recipeapi.repositories;
 
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import com.congdinh.recipeapi.entities.RecipeIngredient;
 import com.congdinh.recipeapi.entities.RecipeIngredientId;
 
-public interface RecipeIngredientRepository extends JpaRepository<RecipeIngredient, RecipeIngredientId> {
+public interface RecipeIngredientRepository
+        extends JpaRepository<RecipeIngredient, RecipeIngredientId>, RecipeIngredientRepositoryCustom {
+    // Single DELETE statement instead of loading and deleting row by row
+    @Modifying
+    @Query("DELETE FROM RecipeIngredient ri WHERE ri.recipe.id = :id")
     void deleteByRecipeId(UUID id);
+
+    // Ingredient ids the recipe already has - decides between insert and amount update
+    @Query("SELECT ri.id.ingredientId FROM RecipeIngredient ri WHERE ri.recipe.id = :id")
+    Set<UUID> findIngredientIdsByRecipeId(UUID id);
+
+    // (recipe id, ingredient id) of every row for the ingredient index
+    @Query("SELECT new com.congdinh.recipeapi.entities.RecipeIngredientId(ri.id.recipeId, ri.id.ingredientId) FROM RecipeIngredient ri")
+    Stream<RecipeIngredientId> streamIds();
 }
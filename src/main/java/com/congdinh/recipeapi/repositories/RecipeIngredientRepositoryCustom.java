@@ -0,0 +1,13 @@
+package com.congdinh.recipeapi.repositories;
+
+import java.util.List;
+
+import com.congdinh.recipeapi.entities.RecipeIngredient;
+
+public interface RecipeIngredientRepositoryCustom {
+    // Insert all rows with a JDBC batch instead of one merge per entity
+    void batchInsert(List<RecipeIngredient> recipeIngredients);
+
+    // Update the amount of existing rows with a JDBC batch
+    void batchUpdateAmount(List<RecipeIngredient> recipeIngredients);
+}
@@ -0,0 +1,56 @@
+package com.congdinh.recipeapi.repositories;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.congdinh.recipeapi.entities.RecipeIngredient;
+
+import jakarta.persistence.EntityManager;
+
+public class RecipeIngredientRepositoryCustomImpl implements RecipeIngredientRepositoryCustom {
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = "INSERT INTO recipe_ingredients (recipe_id, ingredient_id, amount) VALUES (?, ?, ?)";
+    private static final String UPDATE_AMOUNT_SQL = "UPDATE recipe_ingredients SET amount = ? WHERE recipe_id = ? AND ingredient_id = ?";
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    public RecipeIngredientRepositoryCustomImpl(EntityManager entityManager, JdbcTemplate jdbcTemplate) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void batchInsert(List<RecipeIngredient> recipeIngredients) {
+        if (recipeIngredients.isEmpty()) {
+            return;
+        }
+
+        // Flush pending recipe insert/update first so the foreign keys exist
+        entityManager.flush();
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, recipeIngredients, BATCH_SIZE, (ps, recipeIngredient) -> {
+            ps.setString(1, recipeIngredient.getId().getRecipeId().toString());
+            ps.setString(2, recipeIngredient.getId().getIngredientId().toString());
+            ps.setString(3, recipeIngredient.getAmount());
+        });
+    }
+
+    @Override
+    public void batchUpdateAmount(List<RecipeIngredient> recipeIngredients) {
+        if (recipeIngredients.isEmpty()) {
+            return;
+        }
+
+        // Flush pending recipe update first - keeps the statements in order
+        entityManager.flush();
+
+        jdbcTemplate.batchUpdate(UPDATE_AMOUNT_SQL, recipeIngredients, BATCH_SIZE, (ps, recipeIngredient) -> {
+            ps.setString(1, recipeIngredient.getAmount());
+            ps.setString(2, recipeIngredient.getId().getRecipeId().toString());
+            ps.setString(3, recipeIngredient.getId().getIngredientId().toString());
+        });
+    }
+}
@@ -1,10 +1,51 @@
 package com.congdinh.recipeapi.repositories;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.*;
 
+import com.congdinh.recipeapi.dto.recipe.RecipeExportRowDTO;
+import com.congdinh.recipeapi.dto.recipe.RecipeSearchDocumentDTO;
+import com.congdinh.recipeapi.dto.recipe.RecipeVersionDTO;
 import com.congdinh.recipeapi.entities.Recipe;
 
-public interface RecipeRepository extends JpaRepository<Recipe, UUID>, JpaSpecificationExecutor<Recipe> {
+public interface RecipeRepository
+        extends JpaRepository<Recipe, UUID>, JpaSpecificationExecutor<Recipe>, RecipeRepositoryCustom {
     Recipe findByTitle(String title);
+
+    // Titles that already exist, checked once per import batch
+    @Query("SELECT r.title FROM Recipe r WHERE r.title IN :titles")
+    List<String> findExistingTitles(Collection<String> titles);
+
+    // Load recipe with category, recipe_ingredients and ingredients in one statement
+    @EntityGraph(attributePaths = { "category", "ingredients", "ingredients.ingredient" })
+    @Query("SELECT r FROM Recipe r WHERE r.id = :id")
+    Optional<Recipe> findWithIngredientsById(UUID id);
+
+    // Versions of the recipe and everything rendered with it, for ETag checks without loading the recipe
+    @Query("SELECT new com.congdinh.recipeapi.dto.recipe.RecipeVersionDTO(r.version, c.version, "
+            + "(SELECT COALESCE(SUM(i.version), 0L) FROM RecipeIngredient ri JOIN ri.ingredient i WHERE ri.recipe = r)) "
+            + "FROM Recipe r LEFT JOIN r.category c WHERE r.id = :id")
+    Optional<RecipeVersionDTO> findVersionById(UUID id);
+
+    // Text columns of every recipe for the keyword search index
+    @Query("SELECT new com.congdinh.recipeapi.dto.recipe.RecipeSearchDocumentDTO(r.id, r.title, r.description) FROM Recipe r")
+    Stream<RecipeSearchDocumentDTO> streamSearchDocuments();
+
+    // One row per recipe ingredient ordered by recipe, read in chunks of fetch size without managed entities
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("SELECT new com.congdinh.recipeapi.dto.recipe.RecipeExportRowDTO(r.id, r.title, r.description, r.image, "
+            + "r.prepTime, r.cookTime, r.servings, c.id, c.name, c.description, i.id, i.name, ri.amount) "
+            + "FROM Recipe r LEFT JOIN r.category c LEFT JOIN r.ingredients ri LEFT JOIN ri.ingredient i "
+            + "ORDER BY r.id")
+    Stream<RecipeExportRowDTO> streamExportRows();
 }
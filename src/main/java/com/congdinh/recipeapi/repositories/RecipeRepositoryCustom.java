@@ -0,0 +1,30 @@
+package com.congdinh.recipeapi.repositories;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.congdinh.recipeapi.dto.recipe.RecipeListRowDTO;
+import com.congdinh.recipeapi.entities.Recipe;
+
+public interface RecipeRepositoryCustom {
+    // Insert all rows with a JDBC batch, ids are assigned by the caller
+    void batchInsert(List<Recipe> recipes);
+
+    // Select only the list columns joined with category, without hydrating entities
+    Page<RecipeListRowDTO> findListRows(Specification<Recipe> specification, Pageable pageable,
+            boolean withDescription);
+
+    // Same projection for keyset paging, no COUNT query
+    List<RecipeListRowDTO> findListRows(Specification<Recipe> specification, Sort sort, int limit,
+            boolean withDescription);
+
+    // id => value of property (null when property is null) for the given ids matching specification
+    Map<UUID, Object> findSortValues(Specification<Recipe> specification, Set<UUID> ids, String property);
+}
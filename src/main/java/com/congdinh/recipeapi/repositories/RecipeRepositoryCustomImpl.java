@@ -0,0 +1,182 @@
+package com.congdinh.recipeapi.repositories;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.congdinh.recipeapi.dto.recipe.RecipeListRowDTO;
+import com.congdinh.recipeapi.entities.Category;
+import com.congdinh.recipeapi.entities.Recipe;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Selection;
+
+public class RecipeRepositoryCustomImpl implements RecipeRepositoryCustom {
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_IN_LIST = 2000;
+
+    private static final String INSERT_SQL = "INSERT INTO recipes (id, title, description, image, prep_time, cook_time, servings, category_id, version, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, ?)";
+
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+
+    public RecipeRepositoryCustomImpl(EntityManager entityManager, JdbcTemplate jdbcTemplate) {
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void batchInsert(List<Recipe> recipes) {
+        if (recipes.isEmpty()) {
+            return;
+        }
+
+        // Flush pending changes first so the batch sees the same state as JPA
+        entityManager.flush();
+
+        var updatedAt = Timestamp.from(Instant.now());
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, recipes, BATCH_SIZE, (ps, recipe) -> {
+            ps.setString(1, recipe.getId().toString());
+            ps.setString(2, recipe.getTitle());
+            ps.setString(3, recipe.getDescription());
+            ps.setString(4, recipe.getImage());
+            ps.setInt(5, recipe.getPrepTime());
+            ps.setInt(6, recipe.getCookTime());
+            ps.setInt(7, recipe.getServings());
+
+            if (recipe.getCategory() != null) {
+                ps.setString(8, recipe.getCategory().getId().toString());
+            } else {
+                ps.setNull(8, Types.VARCHAR);
+            }
+
+            ps.setTimestamp(9, updatedAt);
+        });
+    }
+
+    @Override
+    public Page<RecipeListRowDTO> findListRows(Specification<Recipe> specification, Pageable pageable,
+            boolean withDescription) {
+        var query = listQuery(specification, pageable.getSort(), withDescription);
+
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        // COUNT only runs when the page is full or not the first one
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(specification));
+    }
+
+    @Override
+    public List<RecipeListRowDTO> findListRows(Specification<Recipe> specification, Sort sort, int limit,
+            boolean withDescription) {
+        return listQuery(specification, sort, withDescription)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // Up to 2000 ids (SQL Server allows 2100 parameters) are looked up by primary key, more are the bigger
+    // part of the table: one scan of the two columns is cheaper than an IN list per 2000 ids
+    @Override
+    public Map<UUID, Object> findSortValues(Specification<Recipe> specification, Set<UUID> ids, String property) {
+        var criteriaBuilder = entityManager.getCriteriaBuilder();
+        var query = criteriaBuilder.createTupleQuery();
+        var root = query.from(Recipe.class);
+
+        // SELECT r.id[, r.property | c.name] FROM Recipe r [LEFT JOIN r.category c] [WHERE r.id IN (...)]
+        var selections = new ArrayList<Selection<?>>();
+        selections.add(root.get("id"));
+        if (property != null) {
+            var parts = property.split("\\.");
+            selections.add(parts.length == 1 ? root.get(property) : root.join(parts[0], JoinType.LEFT).get(parts[1]));
+        }
+        query.multiselect(selections);
+
+        var predicates = new ArrayList<Predicate>();
+        if (ids.size() <= MAX_IN_LIST) {
+            predicates.add(root.get("id").in(ids));
+        }
+        var filter = specification != null ? specification.toPredicate(root, query, criteriaBuilder) : null;
+        if (filter != null) {
+            predicates.add(filter);
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+
+        var values = new HashMap<UUID, Object>();
+        for (var tuple : entityManager.createQuery(query).getResultList()) {
+            var id = tuple.get(0, UUID.class);
+            if (ids.contains(id)) {
+                values.put(id, property != null ? tuple.get(1) : null);
+            }
+        }
+
+        return values;
+    }
+
+    private TypedQuery<RecipeListRowDTO> listQuery(Specification<Recipe> specification, Sort sort,
+            boolean withDescription) {
+        var criteriaBuilder = entityManager.getCriteriaBuilder();
+        var query = criteriaBuilder.createQuery(RecipeListRowDTO.class);
+        var root = query.from(Recipe.class);
+        var category = root.<Recipe, Category>join("category", JoinType.LEFT);
+
+        // SELECT new RecipeListRowDTO(r.id, r.title, ..., c.id, c.name, c.description)
+        // FROM Recipe r LEFT JOIN r.category c
+        query.select(criteriaBuilder.construct(RecipeListRowDTO.class,
+                root.get("id"),
+                root.get("title"),
+                withDescription ? root.get("description") : criteriaBuilder.nullLiteral(String.class),
+                root.get("image"),
+                root.get("prepTime"),
+                root.get("cookTime"),
+                root.get("servings"),
+                root.get("updatedAt"),
+                category.get("id"),
+                category.get("name"),
+                category.get("description")));
+
+        var predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        query.orderBy(QueryUtils.toOrders(sort, root, criteriaBuilder));
+
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Recipe> specification) {
+        var criteriaBuilder = entityManager.getCriteriaBuilder();
+        var query = criteriaBuilder.createQuery(Long.class);
+        var root = query.from(Recipe.class);
+
+        query.select(criteriaBuilder.count(root));
+
+        var predicate = specification.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -14,7 +14,10 @@ import org.springframework.transaction.annotation.Transactional;
 import com.congdinh.recipeapi.entities.User;
 import com.congdinh.recipeapi.repositories.UserRepository;
 
+import io.micrometer.core.annotation.Timed;
+
 @Service
+@Timed("service.method")
 @Transactional
 public class AuthServiceImpl implements AuthService, UserDetailsService {
     private final UserRepository userRepository;
@@ -24,11 +27,13 @@ public class AuthServiceImpl implements AuthService, UserDetailsService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean existsByUsername(String username) {
         return userRepository.existsByUsername(username);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username);
         if (user == null) {
@@ -6,6 +6,7 @@ import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.congdinh.recipeapi.dto.core.KeysetSlice;
 import com.congdinh.recipeapi.dto.category.CategoryCreateDTO;
 import com.congdinh.recipeapi.dto.category.CategoryDTO;
 
@@ -16,8 +17,14 @@ public interface CategoryService {
 
     Page<CategoryDTO> findAll(String keyword, Pageable pageable);
 
+    KeysetSlice<CategoryDTO> findAllAfter(String keyword, String after, Pageable pageable);
+
     CategoryDTO findById(UUID id);
 
+    String findVersionById(UUID id);
+
+    String findListVersion();
+
     CategoryDTO create(CategoryCreateDTO categoryCreateDTO);
 
     CategoryDTO update(UUID id, CategoryDTO categoryDTO);
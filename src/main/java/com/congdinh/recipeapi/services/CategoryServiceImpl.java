@@ -5,22 +5,35 @@ import java.util.UUID;
 
 import jakarta.persistence.criteria.Predicate;
 
+import com.congdinh.recipeapi.config.CacheConfiguration;
 import com.congdinh.recipeapi.entities.Category;
 import com.congdinh.recipeapi.exceptions.ResourceNotFoundException;
 import com.congdinh.recipeapi.repositories.CategoryRepository;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.congdinh.recipeapi.dto.core.KeysetSlice;
 import com.congdinh.recipeapi.dto.category.CategoryCreateDTO;
 import com.congdinh.recipeapi.dto.category.CategoryDTO;
 
+import io.micrometer.core.annotation.Timed;
+
 @Service
+@Timed("service.method")
 @Transactional
 public class CategoryServiceImpl implements CategoryService {
+    // Keyset paging sort fields, read from the loaded category
+    static final KeysetPaging.SortKeys<Category> SORT_KEYS = KeysetPaging.SortKeys.of(Category::getId)
+            .string("name", Category::getName)
+            .instant("updatedAt", Category::getUpdatedAt);
+
     private final CategoryRepository categoryRepository;
 
     // Inject CategoryRepository via constructor
@@ -29,6 +42,8 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfiguration.CATEGORIES, key = "'all'")
     public List<CategoryDTO> findAll() {
         var categories = categoryRepository.findAll();
 
@@ -44,26 +59,11 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfiguration.CATEGORIES, key = "{'keyword', #keyword}")
     public List<CategoryDTO> findAll(String keyword) {
         // Find category by keyword
-        Specification<Category> specification = (root, query, criteriaBuilder) -> {
-            // Neu keyword null thi tra ve null
-            if (keyword == null) {
-                return null;
-            }
-
-            // Neu keyword khong null
-            // WHERE LOWER(name) LIKE %keyword%
-            Predicate namePredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get("name")),
-                    "%" + keyword.toLowerCase() + "%");
-
-            // WHERE LOWER(description) LIKE %keyword%
-            Predicate desPredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get("description")),
-                    "%" + keyword.toLowerCase() + "%");
-
-            // WHERE LOWER(name) LIKE %keyword% OR LOWER(description) LIKE %keyword%
-            return criteriaBuilder.or(namePredicate, desPredicate);
-        };
+        var specification = keywordSpecification(keyword);
 
         var categories = categoryRepository.findAll(specification);
 
@@ -80,26 +80,11 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfiguration.CATEGORIES, key = "{'page', #keyword, #pageable}")
     public Page<CategoryDTO> findAll(String keyword, Pageable pageable) {
         // Find category by keyword
-        Specification<Category> specification = (root, query, criteriaBuilder) -> {
-            // Neu keyword null thi tra ve null
-            if (keyword == null) {
-                return null;
-            }
-
-            // Neu keyword khong null
-            // WHERE LOWER(name) LIKE %keyword%
-            Predicate namePredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get("name")),
-                    "%" + keyword.toLowerCase() + "%");
-
-            // WHERE LOWER(description) LIKE %keyword%
-            Predicate desPredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get("description")),
-                    "%" + keyword.toLowerCase() + "%");
-
-            // WHERE LOWER(name) LIKE %keyword% OR LOWER(description) LIKE %keyword%
-            return criteriaBuilder.or(namePredicate, desPredicate);
-        };
+        var specification = keywordSpecification(keyword);
 
         var categories = categoryRepository.findAll(specification, pageable);
 
@@ -116,6 +101,26 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfiguration.CATEGORIES, key = "{'after', #keyword, #after, #pageable}")
+    public KeysetSlice<CategoryDTO> findAllAfter(String keyword, String after, Pageable pageable) {
+        // Find category by keyword, one slice after the cursor
+        return KeysetPaging.findSlice(keywordSpecification(keyword), after, pageable, SORT_KEYS,
+                (specification, sort, limit) -> categoryRepository.findBy(specification,
+                        query -> query.sortBy(sort).limit(limit).all()),
+                // Covert Category to CategoryDTO
+                (Category category) -> {
+                    var categoryDTO = new CategoryDTO();
+                    categoryDTO.setId(category.getId());
+                    categoryDTO.setName(category.getName());
+                    categoryDTO.setDescription(category.getDescription());
+                    return categoryDTO;
+                });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfiguration.CATEGORY, key = "#id", unless = "#result == null")
     public CategoryDTO findById(UUID id) {
         var category = categoryRepository.findById(id).orElse(null);
 
@@ -132,6 +137,25 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfiguration.CATEGORIES, key = "{'version', #id}", unless = "#result == null")
+    public String findVersionById(UUID id) {
+        // Only the version column - no entity; cached with the lists so every category write evicts it
+        return categoryRepository.findVersionById(id).map(String::valueOf).orElse(null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfiguration.CATEGORIES, key = "'version'")
+    public String findListVersion() {
+        var listVersion = categoryRepository.findListVersion();
+        var lastUpdatedAt = listVersion.getLastUpdatedAt() != null ? listVersion.getLastUpdatedAt().toEpochMilli() : 0;
+
+        return listVersion.getCount() + "-" + listVersion.getVersionSum() + "-" + lastUpdatedAt;
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfiguration.CATEGORIES, allEntries = true)
     public CategoryDTO create(CategoryCreateDTO categoryCreateDTO) {
         // Kiem tra categoryDTO null
         if (categoryCreateDTO == null) {
@@ -162,6 +186,9 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.CATEGORIES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfiguration.CATEGORY, key = "#id") })
     public CategoryDTO update(UUID id, CategoryDTO categoryDTO) {
         if (categoryDTO == null) {
             throw new IllegalArgumentException("Category is required");
@@ -197,6 +224,9 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfiguration.CATEGORIES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfiguration.CATEGORY, key = "#id") })
     public boolean delete(UUID id) {
         // Find category by id - Managed
         var category = categoryRepository.findById(id).orElse(null);
@@ -211,4 +241,25 @@ public class CategoryServiceImpl implements CategoryService {
         // Check if category is deleted
         return !categoryRepository.existsById(id);
     }
+
+    private static Specification<Category> keywordSpecification(String keyword) {
+        return (root, query, criteriaBuilder) -> {
+            // Neu keyword null thi tra ve null
+            if (keyword == null) {
+                return null;
+            }
+
+            // Neu keyword khong null
+            // WHERE LOWER(name) LIKE %keyword%
+            Predicate namePredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get("name")),
+                    "%" + keyword.toLowerCase() + "%");
+
+            // WHERE LOWER(description) LIKE %keyword%
+            Predicate desPredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get("description")),
+                    "%" + keyword.toLowerCase() + "%");
+
+            // WHERE LOWER(name) LIKE %keyword% OR LOWER(description) LIKE %keyword%
+            return criteriaBuilder.or(namePredicate, desPredicate);
+        };
+    }
 }
@@ -0,0 +1,84 @@
+package com.congdinh.recipeapi.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Changes to an in-memory index, applied once the surrounding transaction commits.
+// Changes committed while the index is rebuilt are held back and replayed after the rebuild,
+// so a row read by the rebuild before the change cannot overwrite it.
+final class IndexUpdates {
+    // Request threads can be virtual - a ReentrantLock does not pin them to the carrier
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Changes waiting for the running rebuild, null when no rebuild is running
+    private List<Runnable> pending;
+
+    void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(update);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(update);
+            }
+        });
+    }
+
+    // Runs load, then every change committed while it ran, in commit order
+    void rebuild(Runnable load) {
+        lock.lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            load.run();
+        } finally {
+            replayPending();
+        }
+    }
+
+    private void apply(Runnable update) {
+        lock.lock();
+        try {
+            if (pending != null) {
+                pending.add(update);
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        update.run();
+    }
+
+    // Changes can keep arriving while earlier ones are replayed - stop holding back only once none are left
+    private void replayPending() {
+        while (true) {
+            List<Runnable> updates;
+            lock.lock();
+            try {
+                if (pending.isEmpty()) {
+                    pending = null;
+                    return;
+                }
+
+                updates = pending;
+                pending = new ArrayList<>();
+            } finally {
+                lock.unlock();
+            }
+
+            updates.forEach(Runnable::run);
+        }
+    }
+}
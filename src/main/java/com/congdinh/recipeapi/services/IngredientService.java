@@ -6,6 +6,7 @@ import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.congdinh.recipeapi.dto.core.KeysetSlice;
 import com.congdinh.recipeapi.dto.ingredient.IngredientCreateBatchDTO;
 import com.congdinh.recipeapi.dto.ingredient.IngredientCreateDTO;
 import com.congdinh.recipeapi.dto.ingredient.IngredientDTO;
@@ -17,8 +18,12 @@ public interface IngredientService {
 
     Page<IngredientDTO> findAll(String keyword, Pageable pageable);
 
+    KeysetSlice<IngredientDTO> findAllAfter(String keyword, String after, Pageable pageable);
+
     IngredientDTO findById(UUID id);
 
+    List<IngredientDTO> suggest(String prefix, int limit);
+
     IngredientDTO create(IngredientCreateDTO ingredientCreateDTO);
 
     List<IngredientDTO> create(IngredientCreateBatchDTO ingredientCreateBatchDTO);
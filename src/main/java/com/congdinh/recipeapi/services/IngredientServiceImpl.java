@@ -8,25 +8,43 @@ import com.congdinh.recipeapi.repositories.IngredientRepository;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.congdinh.recipeapi.dto.core.KeysetSlice;
 import com.congdinh.recipeapi.dto.ingredient.IngredientCreateBatchDTO;
 import com.congdinh.recipeapi.dto.ingredient.IngredientCreateDTO;
 import com.congdinh.recipeapi.dto.ingredient.IngredientDTO;
 
+import io.micrometer.core.annotation.Timed;
+
 @Service
+@Timed("service.method")
 @Transactional
 public class IngredientServiceImpl implements IngredientService {
+    // Upper bound for suggest results
+    private static final int MAX_SUGGEST_LIMIT = 50;
+
+    // Keyset paging sort fields, read from the loaded ingredient
+    static final KeysetPaging.SortKeys<Ingredient> SORT_KEYS = KeysetPaging.SortKeys.of(Ingredient::getId)
+            .string("name", Ingredient::getName)
+            .instant("updatedAt", Ingredient::getUpdatedAt);
+
     private final IngredientRepository ingredientRepository;
+    private final IngredientSuggestIndex ingredientSuggestIndex;
 
     // Inject IngredientRepository via constructor
-    public IngredientServiceImpl(IngredientRepository ingredientRepository) {
+    public IngredientServiceImpl(IngredientRepository ingredientRepository,
+            IngredientSuggestIndex ingredientSuggestIndex) {
         this.ingredientRepository = ingredientRepository;
+        this.ingredientSuggestIndex = ingredientSuggestIndex;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<IngredientDTO> findAll() {
         var ingredients = ingredientRepository.findAll();
 
@@ -41,18 +59,10 @@ public class IngredientServiceImpl implements IngredientService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<IngredientDTO> findAll(String keyword) {
         // Find ingredient by keyword
-        Specification<Ingredient> specification = (root, query, criteriaBuilder) -> {
-            // Neu keyword null thi tra ve null
-            if (keyword == null) {
-                return null;
-            }
-
-            // WHERE LOWER(name) LIKE %keyword%
-            return criteriaBuilder.like(criteriaBuilder.lower(root.get("name")),
-                    "%" + keyword.toLowerCase() + "%");
-        };
+        var specification = keywordSpecification(keyword);
 
         var ingredients = ingredientRepository.findAll(specification);
 
@@ -68,18 +78,10 @@ public class IngredientServiceImpl implements IngredientService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<IngredientDTO> findAll(String keyword, Pageable pageable) {
         // Find ingredient by keyword
-        Specification<Ingredient> specification = (root, query, criteriaBuilder) -> {
-            // Neu keyword null thi tra ve null
-            if (keyword == null) {
-                return null;
-            }
-
-            // WHERE LOWER(name) LIKE %keyword%
-            return criteriaBuilder.like(criteriaBuilder.lower(root.get("name")),
-                    "%" + keyword.toLowerCase() + "%");
-        };
+        var specification = keywordSpecification(keyword);
 
         var ingredients = ingredientRepository.findAll(specification, pageable);
 
@@ -95,6 +97,23 @@ public class IngredientServiceImpl implements IngredientService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public KeysetSlice<IngredientDTO> findAllAfter(String keyword, String after, Pageable pageable) {
+        // Find ingredient by keyword, one slice after the cursor
+        return KeysetPaging.findSlice(keywordSpecification(keyword), after, pageable, SORT_KEYS,
+                (specification, sort, limit) -> ingredientRepository.findBy(specification,
+                        query -> query.sortBy(sort).limit(limit).all()),
+                // Covert Ingredient to IngredientDTO
+                (Ingredient ingredient) -> {
+                    var ingredientDTO = new IngredientDTO();
+                    ingredientDTO.setId(ingredient.getId());
+                    ingredientDTO.setName(ingredient.getName());
+                    return ingredientDTO;
+                });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public IngredientDTO findById(UUID id) {
         var ingredient = ingredientRepository.findById(id).orElse(null);
 
@@ -109,6 +128,34 @@ public class IngredientServiceImpl implements IngredientService {
         return ingredientDTO;
     }
 
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS) // Served from memory - no transaction, no connection
+    public List<IngredientDTO> suggest(String prefix, int limit) {
+        if (limit < 1 || limit > MAX_SUGGEST_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SUGGEST_LIMIT);
+        }
+
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+
+        var ingredientDTOs = ingredientSuggestIndex.suggest(prefix, limit);
+        if (ingredientDTOs != null) {
+            return ingredientDTOs;
+        }
+
+        // Index not built yet - name starts with prefix, accents ignored like the index does, ORDER BY name
+        var ingredients = ingredientRepository.findBy(IngredientSuggestIndex.nameStartsWith(prefix),
+                query -> query.sortBy(Sort.by("name")).limit(limit).all());
+
+        return ingredients.stream().map(ingredient -> {
+            var ingredientDTO = new IngredientDTO();
+            ingredientDTO.setId(ingredient.getId());
+            ingredientDTO.setName(ingredient.getName());
+            return ingredientDTO;
+        }).toList();
+    }
+
     @Override
     public IngredientDTO create(IngredientCreateDTO ingredientCreateDTO) {
         // Kiem tra ingredientDTO null
@@ -128,6 +175,7 @@ public class IngredientServiceImpl implements IngredientService {
 
         // Save ingredient
         ingredient = ingredientRepository.save(ingredient);
+        ingredientSuggestIndex.indexAfterCommit(ingredient.getId(), ingredient.getName());
 
         // Convert Ingredient to IngredientDTO
         var newIngredientDTO = new IngredientDTO();
@@ -156,8 +204,9 @@ public class IngredientServiceImpl implements IngredientService {
             return ingredient;
         }).toList();
 
-        // Save all ingredients
+        // Save all ingredients - sent as JDBC batches of hibernate.jdbc.batch_size
         var result = ingredientRepository.saveAll(ingredients);
+        result.forEach(ingredient -> ingredientSuggestIndex.indexAfterCommit(ingredient.getId(), ingredient.getName()));
 
         // Convert List<Ingredient> to List<IngredientDTO>
         var ingredientDTOs = result.stream().map(ingredient -> {
@@ -194,6 +243,7 @@ public class IngredientServiceImpl implements IngredientService {
 
         // Save ingredient => update
         ingredient = ingredientRepository.save(ingredient);
+        ingredientSuggestIndex.indexAfterCommit(ingredient.getId(), ingredient.getName());
 
         // Convert Ingredient to IngredientDTO
         var updatedIngredientDTO = new IngredientDTO();
@@ -214,8 +264,22 @@ public class IngredientServiceImpl implements IngredientService {
 
         // Delete ingredient
         ingredientRepository.delete(ingredient);
+        ingredientSuggestIndex.removeAfterCommit(id);
 
         // Check if ingredient is deleted
         return !ingredientRepository.existsById(id);
     }
+
+    private static Specification<Ingredient> keywordSpecification(String keyword) {
+        return (root, query, criteriaBuilder) -> {
+            // Neu keyword null thi tra ve null
+            if (keyword == null) {
+                return null;
+            }
+
+            // WHERE LOWER(name) LIKE %keyword%
+            return criteriaBuilder.like(criteriaBuilder.lower(root.get("name")),
+                    "%" + keyword.toLowerCase() + "%");
+        };
+    }
 }
@@ -0,0 +1,203 @@
+package com.congdinh.recipeapi.services;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.congdinh.recipeapi.dto.ingredient.IngredientDTO;
+import com.congdinh.recipeapi.entities.Ingredient;
+import com.congdinh.recipeapi.repositories.IngredientRepository;
+
+// In-memory prefix index over ingredient names for autocomplete.
+// Sorted keys give the same prefix walk as a trie: one seek, then read the next k keys.
+@Component
+public class IngredientSuggestIndex {
+    // Key groups - name starts with the prefix first, then any later word of the name does
+    private static final char NAME_START = '0';
+    private static final char WORD_START = '1';
+
+    // Separates the searchable text from the id so equal texts stay distinct keys
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    // Accented Latin letters and what normalize turns each into, for TRANSLATE in the database fallback
+    private static final String ACCENTED_LETTERS;
+    private static final String BASE_LETTERS;
+
+    static {
+        var accented = new StringBuilder();
+        var base = new StringBuilder();
+        // Latin-1 Supplement through Latin Extended-B, and Latin Extended Additional (Vietnamese)
+        for (var range : new int[][] { { 0x00C0, 0x024F }, { 0x1E00, 0x1EFF } }) {
+            for (char letter = (char) range[0]; letter <= range[1]; letter++) {
+                var normalized = normalize(String.valueOf(letter));
+                if (normalized.length() == 1 && normalized.charAt(0) != letter) {
+                    accented.append(letter);
+                    base.append(normalized);
+                }
+            }
+        }
+        ACCENTED_LETTERS = accented.toString();
+        BASE_LETTERS = base.toString();
+    }
+
+    private final IngredientRepository ingredientRepository;
+
+    // group + normalized text from a word start + separator + id -> suggestion
+    private final ConcurrentSkipListMap<String, Suggestion> entries = new ConcurrentSkipListMap<>();
+
+    // ingredient id -> keys, used to drop old keys on update and delete
+    private final ConcurrentHashMap<UUID, List<String>> ingredientKeys = new ConcurrentHashMap<>();
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final IndexUpdates updates = new IndexUpdates();
+
+    private volatile boolean ready;
+
+    private record Suggestion(UUID id, String name) {
+    }
+
+    public IngredientSuggestIndex(IngredientRepository ingredientRepository) {
+        this.ingredientRepository = ingredientRepository;
+    }
+
+    // Build the index once the application has started - suggest uses the database until then
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        updates.rebuild(() -> ingredientRepository.findAll()
+                .forEach(ingredient -> index(ingredient.getId(), ingredient.getName())));
+
+        ready = true;
+    }
+
+    // Up to limit ingredients whose name or one of its words starts with prefix,
+    // or null when the index is not built yet
+    public List<IngredientDTO> suggest(String prefix, int limit) {
+        if (!ready) {
+            return null;
+        }
+
+        var normalizedPrefix = normalize(prefix);
+        if (normalizedPrefix.isEmpty()) {
+            return List.of();
+        }
+
+        // A name can match from several words - keep the first (best) key per ingredient
+        var matches = new LinkedHashMap<UUID, Suggestion>();
+        collect(NAME_START + normalizedPrefix, limit, matches);
+        collect(WORD_START + normalizedPrefix, limit, matches);
+
+        var ingredientDTOs = new ArrayList<IngredientDTO>(matches.size());
+        matches.values().forEach(match -> ingredientDTOs.add(new IngredientDTO(match.id(), match.name())));
+
+        return ingredientDTOs;
+    }
+
+    // Database fallback matching the same way as the name start keys:
+    // WHERE TRANSLATE(LOWER(name), accented, base) LIKE normalized prefix%
+    public static Specification<Ingredient> nameStartsWith(String prefix) {
+        var normalizedPrefix = normalize(prefix);
+        return (root, query, criteriaBuilder) -> criteriaBuilder.like(
+                criteriaBuilder.function("TRANSLATE", String.class, criteriaBuilder.lower(root.get("name")),
+                        criteriaBuilder.literal(ACCENTED_LETTERS), criteriaBuilder.literal(BASE_LETTERS)),
+                normalizedPrefix + "%");
+    }
+
+    private void collect(String keyPrefix, int limit, LinkedHashMap<UUID, Suggestion> matches) {
+        // Every key starting with keyPrefix sorts between keyPrefix and keyPrefix + Character.MAX_VALUE
+        for (var suggestion : entries.subMap(keyPrefix, keyPrefix + Character.MAX_VALUE).values()) {
+            if (matches.size() >= limit) {
+                return;
+            }
+
+            matches.putIfAbsent(suggestion.id(), suggestion);
+        }
+    }
+
+    public void index(UUID id, String name) {
+        var suggestion = new Suggestion(id, name);
+        var keys = keys(id, name);
+
+        writeLock.lock();
+        try {
+            removeKeys(id);
+
+            keys.forEach(key -> entries.put(key, suggestion));
+            ingredientKeys.put(id, keys);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(UUID id) {
+        writeLock.lock();
+        try {
+            removeKeys(id);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Apply index changes only when the surrounding transaction commits
+    public void indexAfterCommit(UUID id, String name) {
+        updates.afterCommit(() -> index(id, name));
+    }
+
+    public void removeAfterCommit(UUID id) {
+        updates.afterCommit(() -> remove(id));
+    }
+
+    private void removeKeys(UUID id) {
+        var oldKeys = ingredientKeys.remove(id);
+        if (oldKeys != null) {
+            oldKeys.forEach(entries::remove);
+        }
+    }
+
+    // "Black pepper" -> "0black pepper", "1pepper"
+    private static List<String> keys(UUID id, String name) {
+        var keys = new ArrayList<String>();
+        var normalizedName = normalize(name);
+        if (normalizedName.isEmpty()) {
+            return keys;
+        }
+
+        keys.add(NAME_START + normalizedName + KEY_SEPARATOR + id);
+
+        var matcher = WORD_SEPARATOR.matcher(normalizedName);
+        while (matcher.find()) {
+            if (matcher.end() < normalizedName.length()) {
+                keys.add(WORD_START + normalizedName.substring(matcher.end()) + KEY_SEPARATOR + id);
+            }
+        }
+
+        return keys;
+    }
+
+    // Lower case without accents, so "ca" also suggests "Cá hồi"
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+
+        var decomposed = Normalizer.normalize(text.strip().toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").replace('đ', 'd');
+    }
+}
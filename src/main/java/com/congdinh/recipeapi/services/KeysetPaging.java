@@ -0,0 +1,266 @@
+package com.congdinh.recipeapi.services;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.congdinh.recipeapi.dto.core.KeysetSlice;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+// Keyset (seek) paging helpers: WHERE (sortKey, id) > (:lastSortKey, :lastId) ORDER BY sortKey, id
+public final class KeysetPaging {
+    private static final String ID = "id";
+
+    private KeysetPaging() {
+    }
+
+    // Sort properties a resource can be keyset paged by, and how to read each one from a loaded row
+    // Only these reach the cursor - it is sent to the client, so secret columns are never listed
+    public static final class SortKeys<R> {
+        private final Map<String, SortKey<R>> keys = new HashMap<>();
+
+        private SortKeys(Function<R, UUID> id) {
+            keys.put(ID, new SortKey<>(id, UUID::fromString));
+        }
+
+        public static <R> SortKeys<R> of(Function<R, UUID> id) {
+            return new SortKeys<>(id);
+        }
+
+        public SortKeys<R> string(String property, Function<R, String> getter) {
+            keys.put(property, new SortKey<>(getter, Function.identity()));
+            return this;
+        }
+
+        public SortKeys<R> integer(String property, Function<R, Integer> getter) {
+            keys.put(property, new SortKey<>(getter, Integer::valueOf));
+            return this;
+        }
+
+        // ISO-8601 in the cursor, Instant.toString and Instant.parse round-trip to the nanosecond
+        public SortKeys<R> instant(String property, Function<R, Instant> getter) {
+            keys.put(property, new SortKey<>(getter, Instant::parse));
+            return this;
+        }
+
+        Set<String> properties() {
+            return keys.keySet();
+        }
+
+        private SortKey<R> get(String property) {
+            var key = keys.get(property);
+            if (key == null) {
+                throw new IllegalArgumentException("Unsupported sort field " + property);
+            }
+            return key;
+        }
+    }
+
+    private record SortKey<R>(Function<R, ?> getter, Function<String, ?> parser) {
+    }
+
+    // Decoded "after" value - sort value (null sorts first ascending, last descending) and id of the last row
+    private record Cursor(Object value, UUID id) {
+    }
+
+    // Loads up to limit rows matching specification in sort order
+    @FunctionalInterface
+    public interface SliceQuery<E, R> {
+        List<R> find(Specification<E> specification, Sort sort, int limit);
+    }
+
+    // Slice after the cursor: seek past it instead of OFFSET, and skip the COUNT query
+    // Sort fields outside keys and invalid cursors throw IllegalArgumentException (400)
+    public static <E, R, D> KeysetSlice<D> findSlice(Specification<E> specification, String after,
+            Pageable pageable, SortKeys<R> keys, SliceQuery<E, R> query, Function<R, D> mapper) {
+        var sort = withIdTieBreaker(pageable.getSort(), keys);
+        // Decoded here, outside the repository: an exception thrown inside toPredicate
+        // is translated by the repository proxy and answers 500 instead of 400
+        var cursor = decode(after, sort, keys);
+
+        // Load one extra row to know whether there is a next slice
+        var rows = query.find(specification.and(after(cursor, sort)), sort, pageable.getPageSize() + 1);
+
+        return toSlice(rows, mapper, pageable, sort, keys);
+    }
+
+    // Sort by the requested property, then by id so every row has a unique position
+    private static Sort withIdTieBreaker(Sort sort, SortKeys<?> keys) {
+        var order = sortOrder(sort);
+        // Rejects sort fields the resource does not list
+        keys.get(order.getProperty());
+
+        if (order.getProperty().equals(ID)) {
+            return Sort.by(order);
+        }
+
+        return Sort.by(order, new Sort.Order(order.getDirection(), ID));
+    }
+
+    // Returns null for the first slice
+    private static Cursor decode(String cursor, Sort sort, SortKeys<?> keys) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+
+        var order = sortOrder(sort);
+        var decoded = split(cursor);
+
+        if (!decoded[0].equals(order.getProperty())) {
+            throw new IllegalArgumentException("Cursor does not match sort field " + order.getProperty());
+        }
+
+        try {
+            var id = UUID.fromString(decoded[2]);
+            if (decoded[1] == null || order.getProperty().equals(ID)) {
+                return new Cursor(null, id);
+            }
+
+            return new Cursor(keys.get(order.getProperty()).parser().apply(decoded[1]), id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    // Rows strictly after the cursor, or no restriction for the first slice
+    // NULL is the lowest value, as SQL Server sorts it: first when ascending, last when descending
+    private static <T> Specification<T> after(Cursor cursor, Sort sort) {
+        return (root, query, criteriaBuilder) -> {
+            if (cursor == null) {
+                return null;
+            }
+
+            var order = sortOrder(sort);
+            var idPredicate = compare(criteriaBuilder, root.get(ID), cursor.id(), order.isAscending());
+
+            if (order.getProperty().equals(ID)) {
+                return idPredicate;
+            }
+
+            var sortPath = path(root, order.getProperty());
+
+            if (cursor.value() == null) {
+                // Ascending: (sortKey IS NULL AND id > :lastId) OR sortKey IS NOT NULL
+                // Descending: sortKey IS NULL AND id < :lastId
+                var nullPredicate = criteriaBuilder.and(criteriaBuilder.isNull(sortPath), idPredicate);
+                return order.isAscending() ? criteriaBuilder.or(nullPredicate, criteriaBuilder.isNotNull(sortPath))
+                        : nullPredicate;
+            }
+
+            // sortKey > :lastValue OR (sortKey = :lastValue AND id > :lastId) [OR sortKey IS NULL when descending]
+            var afterPredicate = criteriaBuilder.or(
+                    compare(criteriaBuilder, sortPath, cursor.value(), order.isAscending()),
+                    criteriaBuilder.and(criteriaBuilder.equal(sortPath, cursor.value()), idPredicate));
+            return order.isAscending() ? afterPredicate
+                    : criteriaBuilder.or(afterPredicate, criteriaBuilder.isNull(sortPath));
+        };
+    }
+
+    // rows were loaded with limit size + 1, the extra row only tells whether a next slice exists
+    // Cursor values come from the loaded row (entity or projection), not from the response DTO
+    private static <R, D> KeysetSlice<D> toSlice(List<R> rows, Function<R, D> mapper, Pageable pageable, Sort sort,
+            SortKeys<R> keys) {
+        int size = pageable.getPageSize();
+
+        if (rows.size() <= size) {
+            return new KeysetSlice<>(rows.stream().map(mapper).toList(), pageable, null);
+        }
+
+        var lastRow = rows.get(size - 1);
+        var property = sortOrder(sort).getProperty();
+        var lastValue = keys.get(property).getter().apply(lastRow);
+
+        // property, value, id - or property, id when the value is null
+        var cursor = property + "\n" + (lastValue != null ? lastValue + "\n" : "")
+                + keys.get(ID).getter().apply(lastRow);
+
+        return new KeysetSlice<>(rows.subList(0, size).stream().map(mapper).toList(), pageable,
+                Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // Slice as HATEOAS collection: self link and, when there is a next slice, a next link with ?after=cursor
+    public static <T> CollectionModel<T> toModel(KeysetSlice<T> slice) {
+        var collectionModel = CollectionModel.of(slice.getContent(),
+                Link.of(ServletUriComponentsBuilder.fromCurrentRequest().toUriString()).withSelfRel());
+
+        if (slice.getNextCursor() != null) {
+            var next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("page")
+                    .replaceQueryParam("after", slice.getNextCursor())
+                    .toUriString();
+            collectionModel.add(Link.of(next).withRel(IanaLinkRelations.NEXT));
+        }
+
+        return collectionModel;
+    }
+
+    private static Sort.Order sortOrder(Sort sort) {
+        return sort.stream().findFirst().orElse(Sort.Order.asc(ID));
+    }
+
+    // property, value, id - the value may itself contain line breaks; value null when only property, id
+    private static String[] split(String cursor) {
+        try {
+            var decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int first = decoded.indexOf('\n');
+            int last = decoded.lastIndexOf('\n');
+
+            if (first < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+
+            return new String[] { decoded.substring(0, first),
+                    first == last ? null : decoded.substring(first + 1, last), decoded.substring(last + 1) };
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    // category.name => LEFT JOIN category, reusing the join of the list query or its ORDER BY
+    // An implicit root.get("category").get("name") would be an inner join and drop rows without a category
+    private static <T> Path<Object> path(Root<T> root, String property) {
+        var parts = property.split("\\.");
+        From<?, ?> from = root;
+
+        for (int i = 0; i < parts.length - 1; i++) {
+            From<?, ?> join = null;
+            for (var existing : from.getJoins()) {
+                if (existing.getAttribute().getName().equals(parts[i]) && existing.getJoinType() == JoinType.LEFT) {
+                    join = existing;
+                    break;
+                }
+            }
+
+            from = join != null ? join : from.join(parts[i], JoinType.LEFT);
+        }
+
+        return from.get(parts[parts.length - 1]);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Predicate compare(CriteriaBuilder criteriaBuilder, Path path, Object value, boolean ascending) {
+        return ascending
+                ? criteriaBuilder.greaterThan(path, (Comparable) value)
+                : criteriaBuilder.lessThan(path, (Comparable) value);
+    }
+}
@@ -0,0 +1,10 @@
+package com.congdinh.recipeapi.services;
+
+import java.util.Iterator;
+
+import com.congdinh.recipeapi.dto.recipe.RecipeCreateDTO;
+import com.congdinh.recipeapi.dto.recipe.RecipeImportReportDTO;
+
+public interface RecipeImportService {
+    RecipeImportReportDTO importRecipes(Iterator<RecipeCreateDTO> recipes);
+}
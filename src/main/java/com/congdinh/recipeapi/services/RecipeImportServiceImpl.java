@@ -0,0 +1,309 @@
+package com.congdinh.recipeapi.services;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.congdinh.recipeapi.dto.recipe.RecipeCreateDTO;
+import com.congdinh.recipeapi.dto.recipe.RecipeImportReportDTO;
+import com.congdinh.recipeapi.dto.recipe.RecipeImportResultDTO;
+import com.congdinh.recipeapi.dto.recipe.RecipeImportStatus;
+import com.congdinh.recipeapi.entities.Category;
+import com.congdinh.recipeapi.entities.Ingredient;
+import com.congdinh.recipeapi.entities.Recipe;
+import com.congdinh.recipeapi.entities.RecipeIngredient;
+import com.congdinh.recipeapi.entities.RecipeIngredientId;
+import com.congdinh.recipeapi.repositories.CategoryRepository;
+import com.congdinh.recipeapi.repositories.IngredientRepository;
+import com.congdinh.recipeapi.repositories.RecipeIngredientRepository;
+import com.congdinh.recipeapi.repositories.RecipeRepository;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Validator;
+
+@Service
+@Timed("service.method")
+public class RecipeImportServiceImpl implements RecipeImportService {
+    // Titles of a batch go into one IN query, SQL Server allows 2100 parameters
+    private static final int MAX_BATCH_SIZE = 2000;
+
+    private final RecipeRepository recipeRepository;
+    private final CategoryRepository categoryRepository;
+    private final IngredientRepository ingredientRepository;
+    private final RecipeIngredientRepository recipeIngredientRepository;
+    private final RecipeSearchIndex recipeSearchIndex;
+    private final RecipeIngredientIndex recipeIngredientIndex;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService validationExecutor;
+    private final int batchSize;
+
+    public RecipeImportServiceImpl(RecipeRepository recipeRepository, CategoryRepository categoryRepository,
+            IngredientRepository ingredientRepository, RecipeIngredientRepository recipeIngredientRepository,
+            RecipeSearchIndex recipeSearchIndex, RecipeIngredientIndex recipeIngredientIndex, Validator validator, PlatformTransactionManager transactionManager,
+            @Value("${app.import.batch-size:500}") int batchSize,
+            @Value("${app.import.worker-threads:4}") int workerThreads) {
+        if (batchSize < 1 || batchSize > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("app.import.batch-size must be between 1 and " + MAX_BATCH_SIZE);
+        }
+
+        this.recipeRepository = recipeRepository;
+        this.categoryRepository = categoryRepository;
+        this.ingredientRepository = ingredientRepository;
+        this.recipeIngredientRepository = recipeIngredientRepository;
+        this.recipeSearchIndex = recipeSearchIndex;
+        this.recipeIngredientIndex = recipeIngredientIndex;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+
+        // Only one batch is submitted at a time, so at most batchSize tasks wait in the queue
+        this.validationExecutor = Executors.newFixedThreadPool(workerThreads,
+                Thread.ofPlatform().name("recipe-import-", 0).daemon().factory());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        validationExecutor.shutdownNow();
+    }
+
+    @Override
+    public RecipeImportReportDTO importRecipes(Iterator<RecipeCreateDTO> recipes) {
+        // Resolve categories and ingredients once for the whole import
+        var categories = categoryRepository.findAll().stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+        var ingredients = ingredientRepository.findAll().stream()
+                .collect(Collectors.toMap(Ingredient::getId, Function.identity()));
+
+        // Lower-cased titles accepted so far, recipes.title is unique and case-insensitive
+        var importedTitles = new HashSet<String>();
+
+        var results = new ArrayList<RecipeImportResultDTO>();
+        var batch = new ArrayList<RecipeCreateDTO>(batchSize);
+
+        while (true) {
+            RecipeCreateDTO recipeCreateDTO;
+            try {
+                if (!recipes.hasNext()) {
+                    break;
+                }
+                recipeCreateDTO = recipes.next();
+            } catch (RuntimeException e) {
+                // Malformed input - stop reading, rows before it are still imported
+                results.addAll(importBatch(batch, results.size() + 1, categories, ingredients, importedTitles));
+                results.add(new RecipeImportResultDTO(results.size() + 1, null, null, RecipeImportStatus.FAILED,
+                        List.of("Invalid recipe: " + e.getMessage())));
+                batch.clear();
+                break;
+            }
+
+            batch.add(recipeCreateDTO);
+
+            if (batch.size() == batchSize) {
+                results.addAll(importBatch(batch, results.size() + 1, categories, ingredients, importedTitles));
+                batch.clear();
+            }
+        }
+
+        results.addAll(importBatch(batch, results.size() + 1, categories, ingredients, importedTitles));
+
+        int created = (int) results.stream().filter(result -> result.getStatus() == RecipeImportStatus.CREATED)
+                .count();
+
+        return new RecipeImportReportDTO(results.size(), created, results.size() - created, results);
+    }
+
+    private List<RecipeImportResultDTO> importBatch(List<RecipeCreateDTO> batch, int firstRow,
+            Map<UUID, Category> categories, Map<UUID, Ingredient> ingredients, Set<String> importedTitles) {
+        if (batch.isEmpty()) {
+            return List.of();
+        }
+
+        // Validate rows on the worker pool, tasks only read the preloaded maps
+        var tasks = new ArrayList<Callable<List<String>>>(batch.size());
+        for (var recipeCreateDTO : batch) {
+            tasks.add(() -> validate(recipeCreateDTO, categories, ingredients));
+        }
+
+        List<Future<List<String>>> validations;
+        try {
+            validations = validationExecutor.invokeAll(tasks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Recipe import interrupted", e);
+        }
+
+        // Titles already in the database - one query per batch
+        var titles = batch.stream().filter(Objects::nonNull).map(RecipeCreateDTO::getTitle)
+                .filter(Objects::nonNull).distinct().toList();
+        var existingTitles = titles.isEmpty() ? Set.<String>of()
+                : recipeRepository.findExistingTitles(titles).stream()
+                        .map(title -> title.toLowerCase(Locale.ROOT))
+                        .collect(Collectors.toSet());
+
+        var results = new ArrayList<RecipeImportResultDTO>(batch.size());
+        var newRecipes = new ArrayList<Recipe>();
+        var newRecipeIngredients = new ArrayList<RecipeIngredient>();
+
+        for (int i = 0; i < batch.size(); i++) {
+            var recipeCreateDTO = batch.get(i);
+            var errors = new ArrayList<>(validationErrors(validations.get(i)));
+            var title = recipeCreateDTO != null ? recipeCreateDTO.getTitle() : null;
+
+            if (errors.isEmpty()) {
+                var titleKey = title.toLowerCase(Locale.ROOT);
+
+                if (existingTitles.contains(titleKey)) {
+                    errors.add("Recipe name is existed");
+                } else if (!importedTitles.add(titleKey)) {
+                    errors.add("Recipe name is duplicated in import");
+                }
+            }
+
+            if (!errors.isEmpty()) {
+                results.add(new RecipeImportResultDTO(firstRow + i, title, null, RecipeImportStatus.FAILED, errors));
+                continue;
+            }
+
+            var recipe = toRecipe(recipeCreateDTO, categories);
+            newRecipes.add(recipe);
+
+            if (recipeCreateDTO.getIngredients() != null) {
+                for (var recipeAddIngredientDTO : recipeCreateDTO.getIngredients()) {
+                    var ingredient = ingredients.get(recipeAddIngredientDTO.getIngredientId());
+                    newRecipeIngredients.add(new RecipeIngredient(
+                            new RecipeIngredientId(recipe.getId(), ingredient.getId()), recipe, ingredient,
+                            recipeAddIngredientDTO.getAmount()));
+                }
+            }
+
+            results.add(new RecipeImportResultDTO(firstRow + i, title, recipe.getId(), RecipeImportStatus.CREATED,
+                    List.of()));
+        }
+
+        // Write the valid rows of the batch in one transaction
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                recipeRepository.batchInsert(newRecipes);
+                recipeIngredientRepository.batchInsert(newRecipeIngredients);
+
+                // Make the new recipes searchable once the batch commits, like create does
+                for (var recipe : newRecipes) {
+                    recipeSearchIndex.indexAfterCommit(recipe.getId(), recipe.getTitle(), recipe.getDescription());
+                }
+                newRecipeIngredients.stream()
+                        .collect(Collectors.groupingBy(recipeIngredient -> recipeIngredient.getId().getRecipeId(),
+                                Collectors.mapping(recipeIngredient -> recipeIngredient.getId().getIngredientId(),
+                                        Collectors.toList())))
+                        .forEach(recipeIngredientIndex::replaceAfterCommit);
+            });
+        } catch (DataAccessException e) {
+            // Batch rolled back - report every row of it as failed
+            var message = "Batch rolled back: " + e.getMostSpecificCause().getMessage();
+            for (var result : results) {
+                if (result.getStatus() == RecipeImportStatus.CREATED) {
+                    importedTitles.remove(result.getTitle().toLowerCase(Locale.ROOT));
+                    result.setId(null);
+                    result.setStatus(RecipeImportStatus.FAILED);
+                    result.setErrors(List.of(message));
+                }
+            }
+
+            return results;
+        }
+
+        return results;
+    }
+
+    private List<String> validate(RecipeCreateDTO recipeCreateDTO, Map<UUID, Category> categories,
+            Map<UUID, Ingredient> ingredients) {
+        var errors = new ArrayList<String>();
+
+        if (recipeCreateDTO == null) {
+            errors.add("Recipe is required");
+            return errors;
+        }
+
+        // Same constraints as @Valid on POST /api/v1/recipes
+        validator.validate(recipeCreateDTO).forEach(violation -> errors.add(violation.getMessage()));
+
+        if (recipeCreateDTO.getCategoryId() != null && !categories.containsKey(recipeCreateDTO.getCategoryId())) {
+            errors.add("Category not found: " + recipeCreateDTO.getCategoryId());
+        }
+
+        if (recipeCreateDTO.getIngredients() != null) {
+            var ingredientIds = new HashSet<UUID>();
+
+            for (var recipeAddIngredientDTO : recipeCreateDTO.getIngredients()) {
+                if (recipeAddIngredientDTO == null || recipeAddIngredientDTO.getIngredientId() == null) {
+                    errors.add("Ingredient is required");
+                    continue;
+                }
+
+                var ingredientId = recipeAddIngredientDTO.getIngredientId();
+                if (!ingredients.containsKey(ingredientId)) {
+                    errors.add("Ingredient not found: " + ingredientId);
+                } else if (!ingredientIds.add(ingredientId)) {
+                    errors.add("Ingredient is duplicated: " + ingredientId);
+                }
+
+                if (recipeAddIngredientDTO.getAmount() == null || recipeAddIngredientDTO.getAmount().isBlank()) {
+                    errors.add("Amount is required");
+                }
+            }
+        }
+
+        return errors;
+    }
+
+    private static List<String> validationErrors(Future<List<String>> validation) {
+        try {
+            return validation.get();
+        } catch (ExecutionException e) {
+            return List.of(String.valueOf(e.getCause().getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Recipe import interrupted", e);
+        }
+    }
+
+    private static Recipe toRecipe(RecipeCreateDTO recipeCreateDTO, Map<UUID, Category> categories) {
+        var recipe = new Recipe();
+        // Id assigned here, the JDBC batch does not go through Hibernate id generation
+        recipe.setId(UUID.randomUUID());
+        recipe.setTitle(recipeCreateDTO.getTitle());
+        recipe.setDescription(recipeCreateDTO.getDescription());
+        recipe.setImage(recipeCreateDTO.getImage());
+
+        // Columns are NOT NULL DEFAULT 0
+        recipe.setPrepTime(Objects.requireNonNullElse(recipeCreateDTO.getPrepTime(), 0));
+        recipe.setCookTime(Objects.requireNonNullElse(recipeCreateDTO.getCookTime(), 0));
+        recipe.setServings(Objects.requireNonNullElse(recipeCreateDTO.getServings(), 0));
+
+        if (recipeCreateDTO.getCategoryId() != null) {
+            recipe.setCategory(categories.get(recipeCreateDTO.getCategoryId()));
+        }
+
+        return recipe;
+    }
+}
@@ -0,0 +1,244 @@
+package com.congdinh.recipeapi.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.congdinh.recipeapi.repositories.RecipeIngredientRepository;
+
+// In-memory ingredient -> recipe index over recipe_ingredients.
+// Every recipe gets an int ordinal, every ingredient a compressed bitmap of the ordinals using it.
+@Component
+public class RecipeIngredientIndex {
+    private static final UUID[] NO_INGREDIENTS = new UUID[0];
+
+    // Best match first: higher ratio, then more matched ingredients, then fewer missing ones
+    private static final Comparator<Match> BEST_FIRST = ((Comparator<Match>) (left, right) -> Long.compare(
+            (long) right.matchedIngredients() * left.totalIngredients(),
+            (long) left.matchedIngredients() * right.totalIngredients()))
+            .thenComparing(Comparator.comparingInt(Match::matchedIngredients).reversed())
+            .thenComparingInt(Match::totalIngredients);
+
+    private final RecipeIngredientRepository recipeIngredientRepository;
+
+    // recipe id <-> ordinal, ordinals of removed recipes are not reused
+    private final Map<UUID, Integer> recipeOrdinals = new HashMap<>();
+    private final List<UUID> recipeIds = new ArrayList<>();
+
+    // recipe ordinal -> its ingredient ids, null once the recipe is removed
+    private final List<UUID[]> recipeIngredients = new ArrayList<>();
+
+    // recipe ordinal -> number of ingredients, the match ratio denominator
+    private int[] ingredientCounts = new int[1024];
+
+    // ingredient id -> ordinals of the recipes using it
+    private final Map<UUID, RoaringBitmap> ingredientRecipes = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final IndexUpdates updates = new IndexUpdates();
+
+    private volatile boolean ready;
+
+    public record Match(UUID recipeId, int matchedIngredients, int totalIngredients) {
+        public double matchRatio() {
+            return (double) matchedIngredients / totalIngredients;
+        }
+    }
+
+    public RecipeIngredientIndex(RecipeIngredientRepository recipeIngredientRepository) {
+        this.recipeIngredientRepository = recipeIngredientRepository;
+    }
+
+    // Build the index once the application has started
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        updates.rebuild(() -> {
+            try (var rows = recipeIngredientRepository.streamIds()) {
+                rows.forEach(row -> add(row.getRecipeId(), List.of(row.getIngredientId())));
+            }
+        });
+
+        lock.writeLock().lock();
+        try {
+            ingredientRecipes.values().forEach(RoaringBitmap::runOptimize);
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Top limit recipes using at least one of ingredientIds, ordered by matched / total ingredients
+    public List<Match> findBestMatches(Collection<UUID> ingredientIds, int limit) {
+        if (ingredientIds.size() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("At most " + Byte.MAX_VALUE + " ingredients");
+        }
+
+        lock.readLock().lock();
+        try {
+            var bitmaps = ingredientIds.stream().distinct().map(ingredientRecipes::get).filter(Objects::nonNull)
+                    .toList();
+            if (bitmaps.isEmpty()) {
+                return List.of();
+            }
+
+            // matched ingredients per recipe ordinal, fits in a byte for up to 127 query ingredients
+            var matched = new byte[recipeIds.size()];
+            for (var bitmap : bitmaps) {
+                bitmap.forEach((int ordinal) -> matched[ordinal]++);
+            }
+
+            var totals = ingredientCounts;
+            // Keep the limit best ordinals, the worst of them on top of the heap.
+            // Once full, a candidate is compared with the worst before anything is allocated
+            var best = new PriorityQueue<Integer>(limit + 1,
+                    (left, right) -> compare(matched, totals, right, left));
+            FastAggregation.or(bitmaps.iterator()).forEach((int ordinal) -> {
+                if (best.size() < limit) {
+                    best.add(ordinal);
+                } else if (compare(matched, totals, ordinal, best.peek()) < 0) {
+                    best.poll();
+                    best.add(ordinal);
+                }
+            });
+
+            var matches = new ArrayList<Match>(best.size());
+            best.forEach(ordinal -> matches.add(new Match(recipeIds.get(ordinal), matched[ordinal], totals[ordinal])));
+            matches.sort(BEST_FIRST);
+
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Negative when recipe ordinal left is a better match than right, same order as BEST_FIRST
+    private static int compare(byte[] matched, int[] totals, int left, int right) {
+        int byRatio = Long.compare((long) matched[right] * totals[left], (long) matched[left] * totals[right]);
+        if (byRatio != 0) {
+            return byRatio;
+        }
+
+        int byMatched = Integer.compare(matched[right], matched[left]);
+        return byMatched != 0 ? byMatched : Integer.compare(totals[left], totals[right]);
+    }
+
+    // Set the ingredients of a recipe, replacing the indexed ones
+    public void replace(UUID recipeId, Collection<UUID> ingredientIds) {
+        lock.writeLock().lock();
+        try {
+            int ordinal = ordinal(recipeId);
+            clearIngredients(ordinal);
+            addIngredients(ordinal, ingredientIds);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void add(UUID recipeId, Collection<UUID> ingredientIds) {
+        lock.writeLock().lock();
+        try {
+            addIngredients(ordinal(recipeId), ingredientIds);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID recipeId) {
+        lock.writeLock().lock();
+        try {
+            var ordinal = recipeOrdinals.remove(recipeId);
+            if (ordinal != null) {
+                clearIngredients(ordinal);
+                recipeIngredients.set(ordinal, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Apply index changes only when the surrounding transaction commits
+    public void replaceAfterCommit(UUID recipeId, Collection<UUID> ingredientIds) {
+        var ingredientIdsCopy = List.copyOf(ingredientIds);
+        updates.afterCommit(() -> replace(recipeId, ingredientIdsCopy));
+    }
+
+    public void addAfterCommit(UUID recipeId, Collection<UUID> ingredientIds) {
+        var ingredientIdsCopy = List.copyOf(ingredientIds);
+        updates.afterCommit(() -> add(recipeId, ingredientIdsCopy));
+    }
+
+    public void removeAfterCommit(UUID recipeId) {
+        updates.afterCommit(() -> remove(recipeId));
+    }
+
+    private int ordinal(UUID recipeId) {
+        return recipeOrdinals.computeIfAbsent(recipeId, key -> {
+            recipeIds.add(key);
+            recipeIngredients.add(NO_INGREDIENTS);
+            if (recipeIds.size() > ingredientCounts.length) {
+                ingredientCounts = Arrays.copyOf(ingredientCounts, ingredientCounts.length * 2);
+            }
+            return recipeIds.size() - 1;
+        });
+    }
+
+    private void addIngredients(int ordinal, Collection<UUID> ingredientIds) {
+        var current = recipeIngredients.get(ordinal);
+        var added = new ArrayList<UUID>(ingredientIds.size());
+
+        for (var ingredientId : ingredientIds) {
+            if (ingredientRecipes.computeIfAbsent(ingredientId, key -> new RoaringBitmap()).checkedAdd(ordinal)) {
+                added.add(ingredientId);
+            }
+        }
+
+        if (!added.isEmpty()) {
+            var ingredients = Arrays.copyOf(current, current.length + added.size());
+            for (int i = 0; i < added.size(); i++) {
+                ingredients[current.length + i] = added.get(i);
+            }
+            recipeIngredients.set(ordinal, ingredients);
+            ingredientCounts[ordinal] = ingredients.length;
+        }
+    }
+
+    private void clearIngredients(int ordinal) {
+        var current = recipeIngredients.get(ordinal);
+        if (current == null) {
+            return;
+        }
+
+        for (var ingredientId : current) {
+            var bitmap = ingredientRecipes.get(ingredientId);
+            bitmap.remove(ordinal);
+            if (bitmap.isEmpty()) {
+                ingredientRecipes.remove(ingredientId);
+            }
+        }
+
+        recipeIngredients.set(ordinal, NO_INGREDIENTS);
+        ingredientCounts[ordinal] = 0;
+    }
+}
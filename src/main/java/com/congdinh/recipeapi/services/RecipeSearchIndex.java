@@ -0,0 +1,249 @@
+package com.congdinh.recipeapi.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.congdinh.recipeapi.repositories.RecipeRepository;
+
+// In-memory inverted index over recipe title and description.
+// Keyword searches use it to turn LIKE '%kw%' table scans into primary key lookups.
+@Component
+public class RecipeSearchIndex {
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // %, _ and [ are wildcards in the LIKE pattern, the database answers those keywords
+    private static final Pattern LIKE_WILDCARD = Pattern.compile("[%_\\[]");
+
+    private final RecipeRepository recipeRepository;
+
+    // term -> ids of recipes containing the term
+    private final ConcurrentHashMap<String, Set<UUID>> postings = new ConcurrentHashMap<>();
+
+    // recipe id -> lower-case title and description, to check candidates against the whole keyword
+    // and to find the old postings on update and delete
+    private final ConcurrentHashMap<UUID, Document> documents = new ConcurrentHashMap<>();
+
+    // trigram -> indexed terms containing it, so substring lookups avoid scanning every term
+    private final ConcurrentHashMap<String, Set<String>> trigramTerms = new ConcurrentHashMap<>();
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final IndexUpdates updates = new IndexUpdates();
+
+    private volatile boolean ready;
+
+    private record Document(String title, String description) {
+        boolean contains(String keyword) {
+            return title.contains(keyword) || description.contains(keyword);
+        }
+    }
+
+    public RecipeSearchIndex(RecipeRepository recipeRepository) {
+        this.recipeRepository = recipeRepository;
+    }
+
+    // Build the index once the application has started - searches use the database until then
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        updates.rebuild(() -> {
+            try (var documents = recipeRepository.streamSearchDocuments()) {
+                documents.forEach(document -> index(document.getId(), document.getTitle(), document.getDescription()));
+            }
+        });
+
+        ready = true;
+    }
+
+    // Ids of the recipes LOWER(title) LIKE %keyword% OR LOWER(description) LIKE %keyword% matches,
+    // or null when the index cannot answer and the caller has to run the LIKE query
+    public Set<UUID> findMatches(String keyword) {
+        if (!ready || keyword == null || LIKE_WILDCARD.matcher(keyword).find()) {
+            return null;
+        }
+
+        var queryTerms = tokenize(keyword);
+        if (queryTerms.isEmpty()) {
+            return null;
+        }
+
+        // LIKE also matches inside words, so every term containing the query term counts
+        var matchingPostings = new ArrayList<List<Set<UUID>>>();
+        for (var queryTerm : queryTerms) {
+            var termPostings = new ArrayList<Set<UUID>>();
+            for (var term : findTermsContaining(queryTerm)) {
+                var recipeIds = postings.get(term);
+                if (recipeIds != null) {
+                    termPostings.add(recipeIds);
+                }
+            }
+
+            if (termPostings.isEmpty()) {
+                return Set.of();
+            }
+
+            matchingPostings.add(termPostings);
+        }
+
+        // Start from the most selective query term, then filter by the others
+        matchingPostings.sort(Comparator.comparingInt(RecipeSearchIndex::size));
+
+        var candidates = new HashSet<UUID>();
+        matchingPostings.get(0).forEach(candidates::addAll);
+
+        for (var termPostings : matchingPostings.subList(1, matchingPostings.size())) {
+            candidates.removeIf(id -> termPostings.stream().noneMatch(recipeIds -> recipeIds.contains(id)));
+        }
+
+        // A single word keyword is matched by every term containing it, anything else - several words,
+        // punctuation - is checked against the text: "coconut curry" must not match "curry with coconut"
+        var pattern = keyword.toLowerCase(Locale.ROOT);
+        if (!queryTerms.contains(pattern)) {
+            candidates.removeIf(id -> {
+                var document = documents.get(id);
+                return document == null || !document.contains(pattern);
+            });
+        }
+
+        return candidates;
+    }
+
+    // Orders recipe ids by lower-case title, as SQL Server orders titles ignoring case
+    public Comparator<UUID> titleOrder() {
+        return Comparator.comparing(id -> {
+            var document = documents.get(id);
+            return document != null ? document.title() : "";
+        });
+    }
+
+    // Indexed terms containing queryTerm, narrowed through the trigram index when possible
+    private Iterable<String> findTermsContaining(String queryTerm) {
+        if (queryTerm.length() < 3) {
+            return postings.keySet().stream().filter(term -> term.contains(queryTerm)).toList();
+        }
+
+        Set<String> smallest = null;
+        for (int i = 0; i + 3 <= queryTerm.length(); i++) {
+            var terms = trigramTerms.get(queryTerm.substring(i, i + 3));
+            if (terms == null) {
+                return List.of();
+            }
+
+            if (smallest == null || terms.size() < smallest.size()) {
+                smallest = terms;
+            }
+        }
+
+        return smallest.stream().filter(term -> term.contains(queryTerm)).toList();
+    }
+
+    private static int size(List<Set<UUID>> termPostings) {
+        return termPostings.stream().mapToInt(Set::size).sum();
+    }
+
+    public void index(UUID id, String title, String description) {
+        var document = new Document(lowerCase(title), lowerCase(description));
+        var terms = terms(document);
+
+        writeLock.lock();
+        try {
+            removeTerms(id);
+
+            terms.forEach(term -> postings.computeIfAbsent(term, key -> {
+                updateTrigrams(key, true);
+                return ConcurrentHashMap.newKeySet();
+            }).add(id));
+            documents.put(id, document);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(UUID id) {
+        writeLock.lock();
+        try {
+            removeTerms(id);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Apply index changes only when the surrounding transaction commits
+    public void indexAfterCommit(UUID id, String title, String description) {
+        updates.afterCommit(() -> index(id, title, description));
+    }
+
+    public void removeAfterCommit(UUID id) {
+        updates.afterCommit(() -> remove(id));
+    }
+
+    private void removeTerms(UUID id) {
+        var oldDocument = documents.remove(id);
+        if (oldDocument == null) {
+            return;
+        }
+
+        terms(oldDocument).forEach(term -> postings.computeIfPresent(term, (key, recipeIds) -> {
+            recipeIds.remove(id);
+            if (!recipeIds.isEmpty()) {
+                return recipeIds;
+            }
+
+            updateTrigrams(key, false);
+            return null;
+        }));
+    }
+
+    private void updateTrigrams(String term, boolean add) {
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            var trigram = term.substring(i, i + 3);
+
+            if (add) {
+                trigramTerms.computeIfAbsent(trigram, key -> ConcurrentHashMap.newKeySet()).add(term);
+            } else {
+                trigramTerms.computeIfPresent(trigram, (key, terms) -> {
+                    terms.remove(term);
+                    return terms.isEmpty() ? null : terms;
+                });
+            }
+        }
+    }
+
+    private static Set<String> terms(Document document) {
+        var terms = tokenize(document.title());
+        terms.addAll(tokenize(document.description()));
+        return terms;
+    }
+
+    private static String lowerCase(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> tokenize(String text) {
+        var terms = new HashSet<String>();
+        if (text == null) {
+            return terms;
+        }
+
+        for (var term : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+
+        return terms;
+    }
+}
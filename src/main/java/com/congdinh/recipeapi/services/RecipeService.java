@@ -1,29 +1,42 @@
 package com.congdinh.recipeapi.services;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.congdinh.recipeapi.dto.core.KeysetSlice;
 import com.congdinh.recipeapi.dto.recipe.RecipeAddIngredientDTO;
 import com.congdinh.recipeapi.dto.recipe.RecipeAddListIngredientDTO;
 import com.congdinh.recipeapi.dto.recipe.RecipeCreateDTO;
 import com.congdinh.recipeapi.dto.recipe.RecipeDTO;
 import com.congdinh.recipeapi.dto.recipe.RecipeEditDTO;
+import com.congdinh.recipeapi.dto.recipe.RecipeExportDTO;
 import com.congdinh.recipeapi.dto.recipe.RecipeIngredientWithRecipeIdDTO;
+import com.congdinh.recipeapi.dto.recipe.RecipeMatchDTO;
 
 public interface RecipeService {
     List<RecipeDTO> findAll();
 
     List<RecipeDTO> findAll(String keyword);
 
-    Page<RecipeDTO> findAll(String keyword, Pageable pageable);
+    Page<RecipeDTO> findAll(String keyword, Pageable pageable, Set<String> fields);
+
+    KeysetSlice<RecipeDTO> findAllAfter(String keyword, String after, Pageable pageable, Set<String> fields);
 
     Page<RecipeDTO> findAll(String keyword, String categoryName, Pageable pageable);
 
     RecipeDTO findById(UUID id);
 
+    String findVersionById(UUID id);
+
+    List<RecipeMatchDTO> findByIngredients(Set<UUID> ingredientIds, int size);
+
+    void exportAll(Consumer<RecipeExportDTO> consumer);
+
     RecipeDTO create(RecipeCreateDTO recipeCreateDTO);
 
     RecipeDTO update(UUID id, RecipeEditDTO recipeEditDTO);
@@ -1,25 +1,40 @@
 package com.congdinh.recipeapi.services;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import jakarta.persistence.criteria.Predicate;
 
+import com.congdinh.recipeapi.entities.Ingredient;
 import com.congdinh.recipeapi.entities.Recipe;
 import com.congdinh.recipeapi.entities.RecipeIngredient;
 import com.congdinh.recipeapi.entities.RecipeIngredientId;
+import com.congdinh.recipeapi.exceptions.ServiceUnavailableException;
 import com.congdinh.recipeapi.repositories.CategoryRepository;
 import com.congdinh.recipeapi.repositories.IngredientRepository;
 import com.congdinh.recipeapi.repositories.RecipeIngredientRepository;
 import com.congdinh.recipeapi.repositories.RecipeRepository;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.congdinh.recipeapi.dto.core.KeysetSlice;
 import com.congdinh.recipeapi.dto.category.CategoryDTO;
 import com.congdinh.recipeapi.dto.ingredient.IngredientDTO;
 import com.congdinh.recipeapi.dto.recipe.RecipeAddIngredientDTO;
@@ -27,257 +42,164 @@ import com.congdinh.recipeapi.dto.recipe.RecipeAddListIngredientDTO;
 import com.congdinh.recipeapi.dto.recipe.RecipeCreateDTO;
 import com.congdinh.recipeapi.dto.recipe.RecipeDTO;
 import com.congdinh.recipeapi.dto.recipe.RecipeEditDTO;
+import com.congdinh.recipeapi.dto.recipe.RecipeExportDTO;
+import com.congdinh.recipeapi.dto.recipe.RecipeExportRowDTO;
 import com.congdinh.recipeapi.dto.recipe.RecipeIngredientDTO;
 import com.congdinh.recipeapi.dto.recipe.RecipeIngredientWithRecipeIdDTO;
+import com.congdinh.recipeapi.dto.recipe.RecipeListRowDTO;
+import com.congdinh.recipeapi.dto.recipe.RecipeMatchDTO;
+
+import io.micrometer.core.annotation.Timed;
 
 @Service
+@Timed("service.method")
 @Transactional
 public class RecipeServiceImpl implements RecipeService {
+    // Keyset slices use the search index matches as an IN list up to this size (SQL Server allows 2100 parameters)
+    private static final int MAX_IN_LIST = 2000;
+
+    private static final Set<String> LIST_FIELDS = Set.of("id", "title", "description", "image", "prepTime",
+            "cookTime", "servings", "category");
+
+    // Keyset paging sort fields, read from the loaded list row
+    static final KeysetPaging.SortKeys<RecipeListRowDTO> SORT_KEYS = KeysetPaging.SortKeys.of(RecipeListRowDTO::getId)
+            .string("title", RecipeListRowDTO::getTitle)
+            .integer("prepTime", RecipeListRowDTO::getPrepTime)
+            .integer("cookTime", RecipeListRowDTO::getCookTime)
+            .integer("servings", RecipeListRowDTO::getServings)
+            .string("category.name", RecipeListRowDTO::getCategoryName)
+            .instant("updatedAt", RecipeListRowDTO::getUpdatedAt);
+
     private final RecipeRepository recipeRepository;
     private final CategoryRepository categoryRepository;
     private final IngredientRepository ingredientRepository;
     private final RecipeIngredientRepository recipeIngredientRepository;
+    private final RecipeSearchIndex recipeSearchIndex;
+    private final RecipeIngredientIndex recipeIngredientIndex;
 
     // Inject RecipeRepository via constructor
     public RecipeServiceImpl(RecipeRepository recipeRepository, CategoryRepository categoryRepository,
             RecipeIngredientRepository recipeIngredientRepository,
-            IngredientRepository ingredientRepository) {
+            IngredientRepository ingredientRepository, RecipeSearchIndex recipeSearchIndex,
+            RecipeIngredientIndex recipeIngredientIndex) {
         this.recipeRepository = recipeRepository;
         this.categoryRepository = categoryRepository;
         this.ingredientRepository = ingredientRepository;
         this.recipeIngredientRepository = recipeIngredientRepository;
+        this.recipeSearchIndex = recipeSearchIndex;
+        this.recipeIngredientIndex = recipeIngredientIndex;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<RecipeDTO> findAll() {
         var recipes = recipeRepository.findAll();
 
-        var recipeDTOs = recipes.stream().map(recipe -> {
-            var recipeDTO = new RecipeDTO();
-            recipeDTO.setId(recipe.getId());
-            recipeDTO.setTitle(recipe.getTitle());
-            recipeDTO.setDescription(recipe.getDescription());
-            recipeDTO.setImage(recipe.getImage());
-            recipeDTO.setPrepTime(recipe.getPrepTime());
-            recipeDTO.setCookTime(recipe.getCookTime());
-            recipeDTO.setServings(recipe.getServings());
-
-            // Check if entity recipe has category
-            if (recipe.getCategory() != null) {
-                // Convert Category to CategoryDTO
-                var categoryDTO = new CategoryDTO();
-                categoryDTO.setId(recipe.getCategory().getId());
-                categoryDTO.setName(recipe.getCategory().getName());
-                categoryDTO.setDescription(recipe.getCategory().getDescription());
-
-                // Set categoryDTO to recipeDTO
-                recipeDTO.setCategory(categoryDTO);
-            }
-            return recipeDTO;
-        }).toList();
+        var recipeDTOs = recipes.stream().map(RecipeServiceImpl::toRecipeDTO).toList();
 
         return recipeDTOs;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<RecipeDTO> findAll(String keyword) {
         // Find recipe by keyword
-        Specification<Recipe> specification = (root, query, criteriaBuilder) -> {
-            // Neu keyword null thi tra ve null
-            if (keyword == null) {
-                return null;
-            }
-
-            // Neu keyword khong null
-            // WHERE LOWER(name) LIKE %keyword%
-            Predicate titlePredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get("title")),
-                    "%" + keyword.toLowerCase() + "%");
-
-            // WHERE LOWER(description) LIKE %keyword%
-            Predicate desPredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get("description")),
-                    "%" + keyword.toLowerCase() + "%");
-
-            // WHERE LOWER(name) LIKE %keyword% OR LOWER(description) LIKE %keyword%
-            return criteriaBuilder.or(titlePredicate, desPredicate);
-        };
+        var specification = keywordSpecification(keyword);
 
         var recipes = recipeRepository.findAll(specification);
 
         // Covert List<Recipe> to List<RecipeDTO>
-        var recipeDTOs = recipes.stream().map(recipe -> {
-            var recipeDTO = new RecipeDTO();
-            recipeDTO.setId(recipe.getId());
-            recipeDTO.setTitle(recipe.getTitle());
-            recipeDTO.setDescription(recipe.getDescription());
-            recipeDTO.setImage(recipe.getImage());
-            recipeDTO.setPrepTime(recipe.getPrepTime());
-            recipeDTO.setCookTime(recipe.getCookTime());
-            recipeDTO.setServings(recipe.getServings());
-
-            // Check if entity recipe has category
-            if (recipe.getCategory() != null) {
-                // Convert Category to CategoryDTO
-                var categoryDTO = new CategoryDTO();
-                categoryDTO.setId(recipe.getCategory().getId());
-                categoryDTO.setName(recipe.getCategory().getName());
-                categoryDTO.setDescription(recipe.getCategory().getDescription());
-
-                // Set categoryDTO to recipeDTO
-                recipeDTO.setCategory(categoryDTO);
-            }
-
-            return recipeDTO;
-        }).toList();
+        var recipeDTOs = recipes.stream().map(RecipeServiceImpl::toRecipeDTO).toList();
 
         return recipeDTOs;
     }
 
     @Override
-    public Page<RecipeDTO> findAll(String keyword, Pageable pageable) {
-        // Find recipe by keyword
-        Specification<Recipe> specification = (root, query, criteriaBuilder) -> {
-            // Neu keyword null thi tra ve null
-            if (keyword == null) {
-                return null;
-            }
-
-            // Neu keyword khong null
-            // WHERE LOWER(name) LIKE %keyword%
-            Predicate titlePredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get("title")),
-                    "%" + keyword.toLowerCase() + "%");
-
-            // WHERE LOWER(description) LIKE %keyword%
-            Predicate desPredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get("description")),
-                    "%" + keyword.toLowerCase() + "%");
-
-            // WHERE LOWER(name) LIKE %keyword% OR LOWER(description) LIKE %keyword%
-            return criteriaBuilder.or(titlePredicate, desPredicate);
-        };
+    @Transactional(readOnly = true)
+    public Page<RecipeDTO> findAll(String keyword, Pageable pageable, Set<String> fields) {
+        checkListFields(fields);
+
+        // The search index answers the keyword, the database only loads the page
+        var matchIds = recipeSearchIndex.findMatches(keyword);
+        var rows = matchIds != null
+                ? findMatchingRows(matchIds, null, pageable, withDescription(fields, pageable.getSort()))
+                : null;
+
+        if (rows == null) {
+            // Find recipe by keyword
+            // Select only the list columns joined with category in one statement
+            rows = recipeRepository.findListRows(keywordSpecification(keyword), pageable,
+                    withDescription(fields, pageable.getSort()));
+        }
 
-        var recipes = recipeRepository.findAll(specification, pageable);
-
-        // Covert Page<Recipe> to Page<RecipeDTO>
-        var recipeDTOs = recipes.map(recipe -> {
-            var recipeDTO = new RecipeDTO();
-            recipeDTO.setId(recipe.getId());
-            recipeDTO.setTitle(recipe.getTitle());
-            recipeDTO.setDescription(recipe.getDescription());
-            recipeDTO.setImage(recipe.getImage());
-            recipeDTO.setPrepTime(recipe.getPrepTime());
-            recipeDTO.setCookTime(recipe.getCookTime());
-            recipeDTO.setServings(recipe.getServings());
-
-            // Check if entity recipe has category
-            if (recipe.getCategory() != null) {
-                // Convert Category to CategoryDTO
-                var categoryDTO = new CategoryDTO();
-                categoryDTO.setId(recipe.getCategory().getId());
-                categoryDTO.setName(recipe.getCategory().getName());
-                categoryDTO.setDescription(recipe.getCategory().getDescription());
-
-                // Set categoryDTO to recipeDTO
-                recipeDTO.setCategory(categoryDTO);
-            }
-
-            return recipeDTO;
-        });
+        // Covert Page<RecipeListRowDTO> to Page<RecipeDTO>
+        var recipeDTOs = rows.map(row -> withFields(toRecipeDTO(row), fields));
 
         return recipeDTOs;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<RecipeDTO> findAll(String keyword, String categoryName, Pageable pageable) {
-        // Find recipe by keyword
-        Specification<Recipe> specification = (root, query, criteriaBuilder) -> {
-            // Neu keyword null thi tra ve null
-            if (keyword == null) {
-                return null;
-            }
-
-            // Neu keyword khong null
-            // WHERE LOWER(name) LIKE %keyword%
-            Predicate titlePredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get("title")),
-                    "%" + keyword.toLowerCase() + "%");
-
-            // WHERE LOWER(description) LIKE %keyword%
-            Predicate desPredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get("description")),
-                    "%" + keyword.toLowerCase() + "%");
-
-            Predicate keywordPredicate = criteriaBuilder.or(titlePredicate, desPredicate);
+        var categorySpecification = categorySpecification(keyword, categoryName);
+
+        // The search index answers the keyword, the database filters the matches by category and loads the page
+        var matchIds = recipeSearchIndex.findMatches(keyword);
+        var rows = matchIds != null
+                ? findMatchingRows(matchIds, categoryName != null ? categorySpecification : null, pageable, true)
+                : null;
+
+        if (rows == null) {
+            // Find recipe by keyword, and by category name when both are given
+            // Select only the list columns joined with category in one statement
+            rows = recipeRepository.findListRows(keywordSpecification(keyword).and(categorySpecification), pageable,
+                    true);
+        }
 
-            // Neu categoryName null thi tra ve keywordPredicate
-            if (categoryName == null) {
-                return keywordPredicate;
-            }
+        // Covert Page<RecipeListRowDTO> to Page<RecipeDTO>
+        var recipeDTOs = rows.map(RecipeServiceImpl::toRecipeDTO);
 
-            // Neu categoryName khong null tao predicate categoryPredicate
-            // WHERE LOWER(category.name) = categoryName
-            Predicate categoryPredicate = criteriaBuilder.equal(criteriaBuilder.lower(root.get("category").get("name")),
-                    categoryName.toLowerCase());
+        return recipeDTOs;
+    }
 
-            // Tra ve keywordPredicate AND categoryPredicate
-            return criteriaBuilder.and(keywordPredicate, categoryPredicate);
-        };
+    @Override
+    @Transactional(readOnly = true)
+    public KeysetSlice<RecipeDTO> findAllAfter(String keyword, String after, Pageable pageable, Set<String> fields) {
+        checkListFields(fields);
 
-        var recipes = recipeRepository.findAll(specification, pageable);
-
-        // Covert Page<Recipe> to Page<RecipeDTO>
-        var recipeDTOs = recipes.map(recipe -> {
-            var recipeDTO = new RecipeDTO();
-            recipeDTO.setId(recipe.getId());
-            recipeDTO.setTitle(recipe.getTitle());
-            recipeDTO.setDescription(recipe.getDescription());
-            recipeDTO.setImage(recipe.getImage());
-            recipeDTO.setPrepTime(recipe.getPrepTime());
-            recipeDTO.setCookTime(recipe.getCookTime());
-            recipeDTO.setServings(recipe.getServings());
-
-            // Check if entity recipe has category
-            if (recipe.getCategory() != null) {
-                // Convert Category to CategoryDTO
-                var categoryDTO = new CategoryDTO();
-                categoryDTO.setId(recipe.getCategory().getId());
-                categoryDTO.setName(recipe.getCategory().getName());
-                categoryDTO.setDescription(recipe.getCategory().getDescription());
-
-                // Set categoryDTO to recipeDTO
-                recipeDTO.setCategory(categoryDTO);
+        // Find recipe by keyword
+        var specification = keywordSpecification(keyword);
+
+        // Seek by primary key through the search index matches instead of LIKE. Above MAX_IN_LIST the
+        // keyword is common enough that the LIKE scan fills limit + 1 rows early and stops
+        var matchIds = recipeSearchIndex.findMatches(keyword);
+        if (matchIds != null && matchIds.size() <= MAX_IN_LIST) {
+            if (matchIds.isEmpty()) {
+                return new KeysetSlice<>(List.of(), pageable, null);
             }
 
-            return recipeDTO;
-        });
+            // WHERE id IN (...) - the matches are exact, no LIKE needed
+            specification = (root, query, criteriaBuilder) -> root.get("id").in(matchIds);
+        }
 
-        return recipeDTOs;
+        // Select only the list columns joined with category in one statement
+        return KeysetPaging.findSlice(specification, after, pageable, SORT_KEYS,
+                (sliceSpecification, sort, limit) -> recipeRepository.findListRows(sliceSpecification, sort, limit,
+                        withDescription(fields, sort)),
+                row -> withFields(toRecipeDTO(row), fields));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public RecipeDTO findById(UUID id) {
-        var recipe = recipeRepository.findById(id).orElse(null);
+        // Fetch category and ingredients together to avoid N+1 selects
+        var recipe = recipeRepository.findWithIngredientsById(id).orElse(null);
 
         if (recipe == null) {
             return null;
         }
 
-        var recipeDTO = new RecipeDTO();
-        recipeDTO.setId(recipe.getId());
-        recipeDTO.setTitle(recipe.getTitle());
-        recipeDTO.setDescription(recipe.getDescription());
-        recipeDTO.setImage(recipe.getImage());
-        recipeDTO.setPrepTime(recipe.getPrepTime());
-        recipeDTO.setCookTime(recipe.getCookTime());
-        recipeDTO.setServings(recipe.getServings());
-
-        // Check if entity recipe has category
-        if (recipe.getCategory() != null) {
-            // Convert Category to CategoryDTO
-            var categoryDTO = new CategoryDTO();
-            categoryDTO.setId(recipe.getCategory().getId());
-            categoryDTO.setName(recipe.getCategory().getName());
-            categoryDTO.setDescription(recipe.getCategory().getDescription());
-
-            // Set categoryDTO to recipeDTO
-            recipeDTO.setCategory(categoryDTO);
-        }
+        var recipeDTO = toRecipeDTO(recipe);
 
         // Check if entity recipe has ingredients
         if (recipe.getIngredients() != null) {
@@ -297,6 +219,79 @@ public class RecipeServiceImpl implements RecipeService {
         return recipeDTO;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public String findVersionById(UUID id) {
+        // Recipe, category and ingredient versions in one small query - the recipe itself is not loaded
+        return recipeRepository.findVersionById(id)
+                .map(version -> version.getVersion() + "-" + Objects.requireNonNullElse(version.getCategoryVersion(), 0L)
+                        + "-" + version.getIngredientsVersion())
+                .orElse(null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<RecipeMatchDTO> findByIngredients(Set<UUID> ingredientIds, int size) {
+        if (ingredientIds == null || ingredientIds.isEmpty()) {
+            throw new IllegalArgumentException("Ingredients is not empty");
+        }
+
+        if (!recipeIngredientIndex.isReady()) {
+            throw new ServiceUnavailableException("Ingredient index is loading, try again later");
+        }
+
+        // Rank in memory, then load only the recipes of the page - WHERE id IN (...)
+        var matches = recipeIngredientIndex.findBestMatches(ingredientIds, size);
+        var recipeIds = matches.stream().map(RecipeIngredientIndex.Match::recipeId).toList();
+        var recipes = recipeRepository.findAllById(recipeIds).stream()
+                .collect(Collectors.toMap(Recipe::getId, Function.identity()));
+
+        var recipeMatchDTOs = new ArrayList<RecipeMatchDTO>(matches.size());
+        for (var match : matches) {
+            var recipe = recipes.get(match.recipeId());
+
+            // Deleted after ranking
+            if (recipe == null) {
+                continue;
+            }
+
+            recipeMatchDTOs.add(new RecipeMatchDTO(toRecipeDTO(recipe), match.matchedIngredients(),
+                    match.totalIngredients(), match.matchRatio()));
+        }
+
+        return recipeMatchDTOs;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<RecipeExportDTO> consumer) {
+        // Rows come ordered by recipe id, so one recipe is complete when the id changes
+        try (var rows = recipeRepository.streamExportRows()) {
+            RecipeExportDTO current = null;
+
+            for (var iterator = rows.iterator(); iterator.hasNext();) {
+                var row = iterator.next();
+
+                if (current == null || !current.getId().equals(row.getId())) {
+                    if (current != null) {
+                        consumer.accept(current);
+                    }
+                    current = toRecipeExportDTO(row);
+                }
+
+                // LEFT JOIN - recipe without ingredients has a single row with null ingredient
+                if (row.getIngredientId() != null) {
+                    current.getIngredients().add(
+                            new RecipeIngredientDTO(row.getIngredientId(), row.getIngredientName(), row.getAmount()));
+                }
+            }
+
+            if (current != null) {
+                consumer.accept(current);
+            }
+        }
+    }
+
     @Override
     public RecipeDTO create(RecipeCreateDTO recipeCreateDTO) {
         // Kiem tra recipeDTO null
@@ -333,40 +328,16 @@ public class RecipeServiceImpl implements RecipeService {
 
         // Save recipe
         recipe = recipeRepository.save(recipe);
-        final var recipeFinal = recipe;
+        recipeSearchIndex.indexAfterCommit(recipe.getId(), recipe.getTitle(), recipe.getDescription());
 
         // Add List Ingredient to Recipe
-        recipeCreateDTO.getIngredients().stream().forEach(recipeAddIngredientDTO -> {
-            // Check ingredientId is existed
-            var ingredient = ingredientRepository.findById(recipeAddIngredientDTO.getIngredientId()).orElse(null);
-
-            if (ingredient == null) {
-                throw new IllegalArgumentException("Ingredient not found");
-            }
+        if (recipeCreateDTO.getIngredients() != null) {
+            var recipeIngredients = toRecipeIngredients(recipe, recipeCreateDTO.getIngredients());
 
-            // Check amount not null or empty
-            if (recipeAddIngredientDTO.getAmount() == null || recipeAddIngredientDTO.getAmount().isBlank()) {
-                throw new IllegalArgumentException("Amount is required");
-            }
-
-            var recipeIngredientId = new RecipeIngredientId(recipeFinal.getId(), ingredient.getId());
-
-            // Create RecipeIngredient entity
-            var recipeIngredient = new RecipeIngredient();
-            recipeIngredient.setId(recipeIngredientId);
-            recipeIngredient.setRecipe(recipeFinal);
-            recipeIngredient.setIngredient(ingredient);
-            recipeIngredient.setAmount(recipeAddIngredientDTO.getAmount());
-
-            // Save RecipeIngredient
-            var recipeIngredientSaved = recipeIngredientRepository.save(recipeIngredient);
-
-            // Convert recipeIngredientSaved to RecipeIngredientDTO
-            var recipeIngredientDTO = new RecipeIngredientDTO();
-            recipeIngredientDTO.setIngredientId(recipeIngredientSaved.getIngredient().getId());
-            recipeIngredientDTO.setName(recipeIngredientSaved.getIngredient().getName());
-            recipeIngredientDTO.setAmount(recipeIngredientSaved.getAmount());
-        });
+            // Save all RecipeIngredient in one JDBC batch
+            recipeIngredientRepository.batchInsert(recipeIngredients);
+            recipeIngredientIndex.replaceAfterCommit(recipe.getId(), ingredientIds(recipeIngredients));
+        }
 
         // Convert Recipe to RecipeDTO
         var newRecipeDTO = new RecipeDTO();
@@ -447,46 +418,26 @@ public class RecipeServiceImpl implements RecipeService {
             }
         }
 
+        // Ingredient rows are replaced below - always bump version and updated_at
+        recipe.setUpdatedAt(Instant.now());
+
         // Save recipe => update
         recipe = recipeRepository.save(recipe);
-        final var recipeFinal = recipe;
+        recipeSearchIndex.indexAfterCommit(recipe.getId(), recipe.getTitle(), recipe.getDescription());
 
         // Update List Ingredient to Recipe
         // Delete all old RecipeIngredient by recipeId
         recipeIngredientRepository.deleteByRecipeId(id);
 
         // Add List new Ingredient to Recipe
-        recipeEditDTO.getIngredients().stream().forEach(recipeAddIngredientDTO -> {
-            // Check ingredientId is existed
-            var ingredient = ingredientRepository.findById(recipeAddIngredientDTO.getIngredientId()).orElse(null);
-
-            if (ingredient == null) {
-                throw new IllegalArgumentException("Ingredient not found");
-            }
-
-            // Check amount not null or empty
-            if (recipeAddIngredientDTO.getAmount() == null || recipeAddIngredientDTO.getAmount().isBlank()) {
-                throw new IllegalArgumentException("Amount is required");
-            }
-
-            var recipeIngredientId = new RecipeIngredientId(recipeFinal.getId(), ingredient.getId());
-
-            // Create RecipeIngredient entity
-            var recipeIngredient = new RecipeIngredient();
-            recipeIngredient.setId(recipeIngredientId);
-            recipeIngredient.setRecipe(recipeFinal);
-            recipeIngredient.setIngredient(ingredient);
-            recipeIngredient.setAmount(recipeAddIngredientDTO.getAmount());
+        List<RecipeIngredient> recipeIngredients = List.of();
+        if (recipeEditDTO.getIngredients() != null) {
+            recipeIngredients = toRecipeIngredients(recipe, recipeEditDTO.getIngredients());
 
-            // Save RecipeIngredient
-            var recipeIngredientSaved = recipeIngredientRepository.save(recipeIngredient);
-
-            // Convert recipeIngredientSaved to RecipeIngredientDTO
-            var recipeIngredientDTO = new RecipeIngredientDTO();
-            recipeIngredientDTO.setIngredientId(recipeIngredientSaved.getIngredient().getId());
-            recipeIngredientDTO.setName(recipeIngredientSaved.getIngredient().getName());
-            recipeIngredientDTO.setAmount(recipeIngredientSaved.getAmount());
-        });
+            // Save all RecipeIngredient in one JDBC batch
+            recipeIngredientRepository.batchInsert(recipeIngredients);
+        }
+        recipeIngredientIndex.replaceAfterCommit(id, ingredientIds(recipeIngredients));
 
         // Convert Recipe to RecipeDTO
         var updatedRecipeDTO = new RecipeDTO();
@@ -524,6 +475,8 @@ public class RecipeServiceImpl implements RecipeService {
 
         // Delete recipe
         recipeRepository.delete(recipe);
+        recipeSearchIndex.removeAfterCommit(id);
+        recipeIngredientIndex.removeAfterCommit(id);
 
         // Check if recipe is deleted
         return !recipeRepository.existsById(id);
@@ -562,6 +515,10 @@ public class RecipeServiceImpl implements RecipeService {
         // Save RecipeIngredient
         var recipeIngredientSaved = recipeIngredientRepository.save(recipeIngredient);
 
+        // Recipe content changed - bump version and updated_at
+        recipe.setUpdatedAt(Instant.now());
+        recipeIngredientIndex.addAfterCommit(id, List.of(ingredient.getId()));
+
         return recipeIngredientSaved != null;
     }
 
@@ -578,45 +535,320 @@ public class RecipeServiceImpl implements RecipeService {
         var result = new RecipeIngredientWithRecipeIdDTO();
         result.setRecipeId(id);
 
-        var listIngredientAdded = new ArrayList<RecipeIngredientDTO>();
+        var recipeIngredients = toRecipeIngredients(recipe, recipeAddListIngredientDTO.getIngredients());
+
+        // Ingredients the recipe already has get the new amount, the others are inserted
+        var existingIngredientIds = recipeIngredientRepository.findIngredientIdsByRecipeId(id);
+        var existingAndNew = recipeIngredients.stream().collect(Collectors.partitioningBy(
+                recipeIngredient -> existingIngredientIds.contains(recipeIngredient.getId().getIngredientId())));
+
+        // One JDBC batch each for updates and inserts
+        recipeIngredientRepository.batchUpdateAmount(existingAndNew.get(true));
+        recipeIngredientRepository.batchInsert(existingAndNew.get(false));
+        recipeIngredientIndex.addAfterCommit(id, ingredientIds(existingAndNew.get(false)));
+
+        // Recipe content changed - bump version and updated_at
+        recipe.setUpdatedAt(Instant.now());
+
+        // Convert List<RecipeIngredient> to List<RecipeIngredientDTO>
+        var listIngredientAdded = recipeIngredients.stream().map(recipeIngredient -> {
+            var recipeIngredientDTO = new RecipeIngredientDTO();
+            recipeIngredientDTO.setIngredientId(recipeIngredient.getIngredient().getId());
+            recipeIngredientDTO.setName(recipeIngredient.getIngredient().getName());
+            recipeIngredientDTO.setAmount(recipeIngredient.getAmount());
+            return recipeIngredientDTO;
+        }).toList();
 
-        recipeAddListIngredientDTO.getIngredients().stream().forEach(recipeAddIngredientDTO -> {
-            // Check ingredientId is existed
-            var ingredient = ingredientRepository.findById(recipeAddIngredientDTO.getIngredientId()).orElse(null);
+        result.setIngredients(listIngredientAdded);
 
-            if (ingredient == null) {
-                throw new IllegalArgumentException("Ingredient not found");
+        return result;
+    }
+
+    // Resolve all ingredients with one IN query and build RecipeIngredient entities
+    private List<RecipeIngredient> toRecipeIngredients(Recipe recipe,
+            List<RecipeAddIngredientDTO> recipeAddIngredientDTOs) {
+        recipeAddIngredientDTOs.forEach(recipeAddIngredientDTO -> {
+            // Check ingredientId not null
+            if (recipeAddIngredientDTO.getIngredientId() == null) {
+                throw new IllegalArgumentException("Ingredient ID is required");
             }
 
             // Check amount not null or empty
             if (recipeAddIngredientDTO.getAmount() == null || recipeAddIngredientDTO.getAmount().isBlank()) {
                 throw new IllegalArgumentException("Amount is required");
             }
+        });
+
+        var ingredientIds = recipeAddIngredientDTOs.stream()
+                .map(RecipeAddIngredientDTO::getIngredientId)
+                .collect(Collectors.toSet());
+
+        // SELECT ... FROM ingredients WHERE id IN (...)
+        var ingredients = ingredientRepository.findAllById(ingredientIds).stream()
+                .collect(Collectors.toMap(Ingredient::getId, Function.identity()));
 
-            var recipeIngredientId = new RecipeIngredientId(recipe.getId(), ingredient.getId());
+        // Report all unknown ingredient ids at once
+        var missingIds = ingredientIds.stream().filter(ingredientId -> !ingredients.containsKey(ingredientId)).toList();
+        if (!missingIds.isEmpty()) {
+            throw new IllegalArgumentException("Ingredient not found: " + missingIds);
+        }
+
+        // Same ingredient listed twice - keep the last amount, one row per (recipe, ingredient)
+        var amounts = recipeAddIngredientDTOs.stream().collect(Collectors.toMap(
+                RecipeAddIngredientDTO::getIngredientId, RecipeAddIngredientDTO::getAmount,
+                (first, last) -> last, LinkedHashMap::new));
+
+        return amounts.entrySet().stream().map(amount -> {
+            var ingredient = ingredients.get(amount.getKey());
 
             // Create RecipeIngredient entity
             var recipeIngredient = new RecipeIngredient();
-            recipeIngredient.setId(recipeIngredientId);
+            recipeIngredient.setId(new RecipeIngredientId(recipe.getId(), ingredient.getId()));
             recipeIngredient.setRecipe(recipe);
             recipeIngredient.setIngredient(ingredient);
-            recipeIngredient.setAmount(recipeAddIngredientDTO.getAmount());
+            recipeIngredient.setAmount(amount.getValue());
+            return recipeIngredient;
+        }).toList();
+    }
 
-            // Save RecipeIngredient
-            var recipeIngredientSaved = recipeIngredientRepository.save(recipeIngredient);
+    // ?fields= names a list response can be narrowed to, anything else answers 400
+    private static void checkListFields(Set<String> fields) {
+        if (fields == null) {
+            return;
+        }
 
-            // Convert recipeIngredientSaved to RecipeIngredientDTO
-            var recipeIngredientDTO = new RecipeIngredientDTO();
-            recipeIngredientDTO.setIngredientId(recipeIngredientSaved.getIngredient().getId());
-            recipeIngredientDTO.setName(recipeIngredientSaved.getIngredient().getName());
-            recipeIngredientDTO.setAmount(recipeIngredientSaved.getAmount());
+        for (var field : fields) {
+            if (!LIST_FIELDS.contains(field)) {
+                throw new IllegalArgumentException("Unsupported field " + field + ", expected one of " + LIST_FIELDS);
+            }
+        }
+    }
 
-            // Add recipeIngredientDTO to list of result
-            listIngredientAdded.add(recipeIngredientDTO);
+    // Fields not asked for are left null, RecipeDTO omits null fields from the JSON
+    private static RecipeDTO withFields(RecipeDTO recipeDTO, Set<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return recipeDTO;
+        }
 
-        });
-        result.setIngredients(listIngredientAdded);
+        if (!fields.contains("id")) {
+            recipeDTO.setId(null);
+        }
+        if (!fields.contains("title")) {
+            recipeDTO.setTitle(null);
+        }
+        if (!fields.contains("description")) {
+            recipeDTO.setDescription(null);
+        }
+        if (!fields.contains("image")) {
+            recipeDTO.setImage(null);
+        }
+        if (!fields.contains("prepTime")) {
+            recipeDTO.setPrepTime(null);
+        }
+        if (!fields.contains("cookTime")) {
+            recipeDTO.setCookTime(null);
+        }
+        if (!fields.contains("servings")) {
+            recipeDTO.setServings(null);
+        }
+        if (!fields.contains("category")) {
+            recipeDTO.setCategory(null);
+        }
 
-        return result;
+        return recipeDTO;
+    }
+
+    // description is the heavy column - only select it when requested or needed for sorting
+    private static boolean withDescription(Set<String> fields, Sort sort) {
+        return fields == null || fields.isEmpty() || fields.contains("description")
+                || sort.getOrderFor("description") != null;
+    }
+
+    // Page of the recipes the search index matched: the ids are ordered in memory, and only the page's rows
+    // are loaded by primary key - no LIKE scan and no COUNT query. Titles come from the index, other sort
+    // columns are read as (id, value) for the matches, filter narrows them (category). Returns null for
+    // sort fields the list rows cannot be ordered by here, the caller runs the LIKE query instead
+    private Page<RecipeListRowDTO> findMatchingRows(Set<UUID> matchIds, Specification<Recipe> filter,
+            Pageable pageable, boolean withDescription) {
+        var order = pageable.getSort().stream().findFirst().orElse(Sort.Order.asc("id"));
+        if (!SORT_KEYS.properties().contains(order.getProperty())) {
+            return null;
+        }
+
+        var property = order.getProperty();
+        var fromIndex = filter == null && (property.equals("id") || property.equals("title"));
+        var values = fromIndex ? null
+                : recipeRepository.findSortValues(filter, matchIds, property.equals("id") ? null : property);
+
+        // NULL first and strings ignoring case, as SQL Server sorts them; the id breaks ties
+        Comparator<UUID> comparator = Comparator.naturalOrder();
+        if (property.equals("title") && fromIndex) {
+            comparator = recipeSearchIndex.titleOrder().thenComparing(comparator);
+        } else if (!property.equals("id")) {
+            comparator = Comparator.<UUID, Object>comparing(values::get,
+                    Comparator.nullsFirst(RecipeServiceImpl::compareValues)).thenComparing(comparator);
+        }
+        if (order.isDescending()) {
+            comparator = comparator.reversed();
+        }
+
+        var ids = fromIndex ? matchIds : values.keySet();
+        var offset = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), ids.size()) : 0;
+        var limit = pageable.isPaged() ? (int) Math.min(ids.size(), offset + (long) pageable.getPageSize())
+                : ids.size();
+
+        var pageIds = first(ids, comparator, limit).subList(offset, limit);
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.size());
+        }
+
+        // WHERE id IN (page ids) - back in the sorted order, without recipes deleted in the meantime
+        var rows = recipeRepository.findListRows((root, query, criteriaBuilder) -> root.get("id").in(pageIds),
+                Sort.unsorted(), pageIds.size(), withDescription);
+        var rowsById = rows.stream().collect(Collectors.toMap(RecipeListRowDTO::getId, Function.identity()));
+
+        return new PageImpl<>(pageIds.stream().map(rowsById::get).filter(Objects::nonNull).toList(), pageable,
+                ids.size());
+    }
+
+    // The limit first ids in order - a heap of limit ids instead of sorting all of them for the first pages
+    private static List<UUID> first(Collection<UUID> ids, Comparator<UUID> comparator, int limit) {
+        if (limit == 0) {
+            return List.of();
+        }
+
+        var heap = new PriorityQueue<UUID>(limit, comparator.reversed());
+        for (var id : ids) {
+            if (heap.size() < limit) {
+                heap.add(id);
+            } else if (comparator.compare(id, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(id);
+            }
+        }
+
+        var first = new ArrayList<>(heap);
+        first.sort(comparator);
+        return first;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static int compareValues(Object value, Object other) {
+        if (value instanceof String string) {
+            return string.compareToIgnoreCase((String) other);
+        }
+        return ((Comparable) value).compareTo(other);
+    }
+
+    private static List<UUID> ingredientIds(List<RecipeIngredient> recipeIngredients) {
+        return recipeIngredients.stream().map(recipeIngredient -> recipeIngredient.getId().getIngredientId()).toList();
+    }
+
+    // Entity and list row mappings are public for the benchmarks
+    public static RecipeDTO toRecipeDTO(Recipe recipe) {
+        var recipeDTO = new RecipeDTO();
+        recipeDTO.setId(recipe.getId());
+        recipeDTO.setTitle(recipe.getTitle());
+        recipeDTO.setDescription(recipe.getDescription());
+        recipeDTO.setImage(recipe.getImage());
+        recipeDTO.setPrepTime(recipe.getPrepTime());
+        recipeDTO.setCookTime(recipe.getCookTime());
+        recipeDTO.setServings(recipe.getServings());
+
+        // Check if entity recipe has category
+        if (recipe.getCategory() != null) {
+            // Convert Category to CategoryDTO
+            var categoryDTO = new CategoryDTO();
+            categoryDTO.setId(recipe.getCategory().getId());
+            categoryDTO.setName(recipe.getCategory().getName());
+            categoryDTO.setDescription(recipe.getCategory().getDescription());
+
+            // Set categoryDTO to recipeDTO
+            recipeDTO.setCategory(categoryDTO);
+        }
+
+        return recipeDTO;
+    }
+
+    public static RecipeDTO toRecipeDTO(RecipeListRowDTO row) {
+        var recipeDTO = new RecipeDTO();
+        recipeDTO.setId(row.getId());
+        recipeDTO.setTitle(row.getTitle());
+        recipeDTO.setDescription(row.getDescription());
+        recipeDTO.setImage(row.getImage());
+        recipeDTO.setPrepTime(row.getPrepTime());
+        recipeDTO.setCookTime(row.getCookTime());
+        recipeDTO.setServings(row.getServings());
+
+        // Check if row has category - LEFT JOIN
+        if (row.getCategoryId() != null) {
+            var categoryDTO = new CategoryDTO();
+            categoryDTO.setId(row.getCategoryId());
+            categoryDTO.setName(row.getCategoryName());
+            categoryDTO.setDescription(row.getCategoryDescription());
+
+            // Set categoryDTO to recipeDTO
+            recipeDTO.setCategory(categoryDTO);
+        }
+
+        return recipeDTO;
+    }
+
+    private RecipeExportDTO toRecipeExportDTO(RecipeExportRowDTO row) {
+        var recipeExportDTO = new RecipeExportDTO();
+        recipeExportDTO.setId(row.getId());
+        recipeExportDTO.setTitle(row.getTitle());
+        recipeExportDTO.setDescription(row.getDescription());
+        recipeExportDTO.setImage(row.getImage());
+        recipeExportDTO.setPrepTime(row.getPrepTime());
+        recipeExportDTO.setCookTime(row.getCookTime());
+        recipeExportDTO.setServings(row.getServings());
+        recipeExportDTO.setIngredients(new ArrayList<>());
+
+        // Check if recipe has category
+        if (row.getCategoryId() != null) {
+            var categoryDTO = new CategoryDTO();
+            categoryDTO.setId(row.getCategoryId());
+            categoryDTO.setName(row.getCategoryName());
+            categoryDTO.setDescription(row.getCategoryDescription());
+            recipeExportDTO.setCategory(categoryDTO);
+        }
+
+        return recipeExportDTO;
+    }
+
+    // Search Specifications are public for the benchmarks
+    public static Specification<Recipe> keywordSpecification(String keyword) {
+        return (root, query, criteriaBuilder) -> {
+            // Neu keyword null thi tra ve null
+            if (keyword == null) {
+                return null;
+            }
+
+            // Neu keyword khong null
+            // WHERE LOWER(name) LIKE %keyword%
+            Predicate titlePredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get("title")),
+                    "%" + keyword.toLowerCase() + "%");
+
+            // WHERE LOWER(description) LIKE %keyword%
+            Predicate desPredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get("description")),
+                    "%" + keyword.toLowerCase() + "%");
+
+            // WHERE LOWER(name) LIKE %keyword% OR LOWER(description) LIKE %keyword%
+            return criteriaBuilder.or(titlePredicate, desPredicate);
+        };
+    }
+
+    // Category is only filtered together with a keyword
+    public static Specification<Recipe> categorySpecification(String keyword, String categoryName) {
+        return (root, query, criteriaBuilder) -> {
+            if (keyword == null || categoryName == null) {
+                return null;
+            }
+
+            // WHERE LOWER(category.name) = categoryName
+            return criteriaBuilder.equal(criteriaBuilder.lower(root.get("category").get("name")),
+                    categoryName.toLowerCase());
+        };
     }
 }
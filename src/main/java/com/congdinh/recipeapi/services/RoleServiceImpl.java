@@ -17,7 +17,10 @@ import org.springframework.transaction.annotation.Transactional;
 import com.congdinh.recipeapi.dto.role.RoleCreateDTO;
 import com.congdinh.recipeapi.dto.role.RoleDTO;
 
+import io.micrometer.core.annotation.Timed;
+
 @Service
+@Timed("service.method")
 @Transactional
 public class RoleServiceImpl implements RoleService {
     private final RoleRepository roleRepository;
@@ -28,6 +31,7 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<RoleDTO> findAll() {
         var roles = roleRepository.findAll();
 
@@ -43,6 +47,7 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<RoleDTO> findAll(String keyword) {
         // Find role by keyword
         Specification<Role> specification = (root, query, criteriaBuilder) -> {
@@ -79,6 +84,7 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<RoleDTO> findAll(String keyword, Pageable pageable) {
         // Find role by keyword
         Specification<Role> specification = (root, query, criteriaBuilder) -> {
@@ -115,6 +121,7 @@ public class RoleServiceImpl implements RoleService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public RoleDTO findById(UUID id) {
         var role = roleRepository.findById(id).orElse(null);
 
@@ -1,9 +1,14 @@
 package com.congdinh.recipeapi.services;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Base64;
 import java.util.Date;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.crypto.SecretKey;
@@ -16,19 +21,53 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.annotation.Timed;
 
 @Service
 public class TokenServiceImpl implements TokenService {
-    @Value("${app.security.access-token-secret-key}")
-    private String secretKey;
-
-    @Value("${app.security.access-token-expired-in-second}")
-    private Integer expireTime;
+    private final Integer expireTime;
+
+    // Key and parser are built once and shared by all requests
+    // Rotating the key means a restart with the new app.security.access-token-secret-key
+    private final SigningKey signingKey;
+
+    // Verified tokens keyed by SHA-256 digest, each entry expires with its token
+    private final Cache<String, VerifiedToken> authenticationCache;
+
+    public TokenServiceImpl(@Value("${app.security.access-token-secret-key}") String secretKey,
+            @Value("${app.security.access-token-expired-in-second}") Integer expireTime,
+            @Value("${app.security.token-cache-maximum-size:10000}") long cacheMaximumSize,
+            MeterRegistry meterRegistry) {
+        this.expireTime = expireTime;
+        this.signingKey = SigningKey.of(secretKey);
+
+        if (cacheMaximumSize > 0) {
+            this.authenticationCache = Caffeine.newBuilder()
+                    .maximumSize(cacheMaximumSize)
+                    .expireAfter(new TokenExpiry())
+                    .recordStats()
+                    .build();
+
+            // cache.gets{cache=jwtAuthentication,result=hit|miss}, cache.evictions, ...
+            CaffeineCacheMetrics.monitor(meterRegistry, authenticationCache, "jwtAuthentication");
+        } else {
+            this.authenticationCache = null;
+        }
+    }
 
+    // Only token issuing is timed - getAuthentication runs on every request and stays free of the timer aspect
+    @Timed("service.method")
     public String generateAccessToken(Authentication authentication) {
         String roles = authentication.getAuthorities().stream().map(Object::toString).collect(Collectors.joining(","));
 
@@ -38,29 +77,20 @@ public class TokenServiceImpl implements TokenService {
     private String generateAccessTokenByRoles(String name, String roles) {
         LocalDateTime expiredAt = LocalDateTime.now().plusSeconds(expireTime);
 
-        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
-
         Date expiration = Date.from(expiredAt.atZone(ZoneId.systemDefault()).toInstant());
 
         return Jwts.builder()
                 .subject(name)
                 .claim("roles", roles)
                 .expiration(expiration)
-                .signWith(key)
+                .signWith(signingKey.key())
                 .compact();
     }
 
-    private Authentication parseAccessToken(String accessToken) {
-        if (accessToken == null) {
-            return null;
-        }
-
-        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
-
+    private VerifiedToken parseAccessToken(String accessToken) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(key)
-                    .build()
+            // JwtParser is immutable and thread-safe so it is shared by all requests
+            Claims claims = signingKey.parser()
                     .parseSignedClaims(accessToken)
                     .getPayload();
 
@@ -73,13 +103,103 @@ public class TokenServiceImpl implements TokenService {
 
             User principal = new User(claims.getSubject(), "", grantedAuthorities);
 
-            return new UsernamePasswordAuthenticationToken(principal, null, grantedAuthorities);
+            var authentication = new UsernamePasswordAuthenticationToken(principal, null, grantedAuthorities);
+
+            return new VerifiedToken(authentication, claims.getExpiration().getTime());
         } catch (Exception e) {
             return null;
         }
     }
 
     public Authentication getAuthentication(String jwtToken) {
-        return parseAccessToken(jwtToken);
+        // Reject garbage headers before the parser builds an exception for them
+        if (!isWellFormed(jwtToken)) {
+            return null;
+        }
+
+        if (authenticationCache == null) {
+            var verifiedToken = parseAccessToken(jwtToken);
+            return verifiedToken != null ? verifiedToken.authentication() : null;
+        }
+
+        // Cache hit => skip signature verification and authority construction
+        var digest = digest(jwtToken);
+        var verifiedToken = authenticationCache.getIfPresent(digest);
+
+        if (verifiedToken == null) {
+            verifiedToken = parseAccessToken(jwtToken);
+
+            // Only valid tokens are cached - invalid ones are rejected again next time
+            if (verifiedToken == null) {
+                return null;
+            }
+
+            authenticationCache.put(digest, verifiedToken);
+        }
+
+        return verifiedToken.authentication();
+    }
+
+    // Compact JWS: three base64url parts separated by two dots
+    private static boolean isWellFormed(String jwtToken) {
+        if (jwtToken == null || jwtToken.isEmpty()) {
+            return false;
+        }
+
+        int dots = 0;
+        for (int i = 0; i < jwtToken.length(); i++) {
+            char c = jwtToken.charAt(i);
+
+            if (c == '.') {
+                dots++;
+            } else if (!((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_')) {
+                return false;
+            }
+        }
+
+        return dots == 2 && jwtToken.charAt(0) != '.' && jwtToken.charAt(jwtToken.length() - 1) != '.';
+    }
+
+    // Raw bearer tokens are never kept in memory, only their digest
+    private static String digest(String jwtToken) {
+        try {
+            var hash = MessageDigest.getInstance("SHA-256").digest(jwtToken.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record SigningKey(SecretKey key, JwtParser parser) {
+        static SigningKey of(String secretKey) {
+            SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+
+            return new SigningKey(key, Jwts.parser().verifyWith(key).build());
+        }
+    }
+
+    private record VerifiedToken(Authentication authentication, long expiresAt) {
+    }
+
+    // Evict each entry at the token's exp claim
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String digest, VerifiedToken verifiedToken, long currentTime) {
+            var remainingMillis = Math.max(0, verifiedToken.expiresAt() - System.currentTimeMillis());
+            return TimeUnit.MILLISECONDS.toNanos(remainingMillis);
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, VerifiedToken verifiedToken, long currentTime,
+                long currentDuration) {
+            return expireAfterCreate(digest, verifiedToken, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String digest, VerifiedToken verifiedToken, long currentTime,
+                long currentDuration) {
+            return currentDuration;
+        }
     }
 }
@@ -6,6 +6,7 @@ import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import com.congdinh.recipeapi.dto.core.KeysetSlice;
 import com.congdinh.recipeapi.dto.user.UserCreateDTO;
 import com.congdinh.recipeapi.dto.user.UserDTO;
 import com.congdinh.recipeapi.dto.user.UserEditDTO;
@@ -17,6 +18,8 @@ public interface UserService {
 
     Page<UserDTO> findAll(String keyword, Pageable pageable);
 
+    KeysetSlice<UserDTO> findAllAfter(String keyword, String after, Pageable pageable);
+
     UserDTO findById(UUID id);
 
     UserDTO create(UserCreateDTO userCreateDTO);
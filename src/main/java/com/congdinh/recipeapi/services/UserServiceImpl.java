@@ -14,15 +14,26 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.congdinh.recipeapi.dto.core.KeysetSlice;
 import com.congdinh.recipeapi.dto.user.UserCreateDTO;
 import com.congdinh.recipeapi.dto.user.UserDTO;
 import com.congdinh.recipeapi.dto.user.UserEditDTO;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import io.micrometer.core.annotation.Timed;
+
 @Service
+@Timed("service.method")
 @Transactional
 public class UserServiceImpl implements UserService {
+    // Keyset paging sort fields, read from the loaded user - never the password hash
+    static final KeysetPaging.SortKeys<User> SORT_KEYS = KeysetPaging.SortKeys.of(User::getId)
+            .string("firstName", User::getFirstName)
+            .string("lastName", User::getLastName)
+            .string("username", User::getUsername)
+            .string("email", User::getEmail);
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
 
@@ -33,6 +44,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserDTO> findAll() {
         var users = userRepository.findAll();
 
@@ -50,34 +62,10 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserDTO> findAll(String keyword) {
         // Find user by keyword
-        Specification<User> specification = (root, query, criteriaBuilder) -> {
-            // Neu keyword null thi tra ve null
-            if (keyword == null) {
-                return null;
-            }
-
-            // Neu keyword khong null
-            // WHERE LOWER(firstName) LIKE %keyword%
-            Predicate firstNamePredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get("firstName")),
-                    "%" + keyword.toLowerCase() + "%");
-
-            // WHERE LOWER(lastName) LIKE %keyword%
-            Predicate lastNamePredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get("lastName")),
-                    "%" + keyword.toLowerCase() + "%");
-
-            // WHERE LOWER(username) LIKE %keyword%
-            Predicate useramePredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get("username")),
-                    "%" + keyword.toLowerCase() + "%");
-
-            // WHERE LOWER(email) LIKE %keyword%
-            Predicate emailPredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get("email")),
-                    "%" + keyword.toLowerCase() + "%");
-
-            // WHERE LOWER(name) LIKE %keyword% OR LOWER(description) LIKE %keyword%
-            return criteriaBuilder.or(firstNamePredicate, lastNamePredicate, useramePredicate, emailPredicate);
-        };
+        var specification = keywordSpecification(keyword);
 
         var users = userRepository.findAll(specification);
 
@@ -96,34 +84,10 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<UserDTO> findAll(String keyword, Pageable pageable) {
         // Find user by keyword
-        Specification<User> specification = (root, query, criteriaBuilder) -> {
-            // Neu keyword null thi tra ve null
-            if (keyword == null) {
-                return null;
-            }
-
-            // Neu keyword khong null
-            // WHERE LOWER(firstName) LIKE %keyword%
-            Predicate firstNamePredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get("firstName")),
-                    "%" + keyword.toLowerCase() + "%");
-
-            // WHERE LOWER(lastName) LIKE %keyword%
-            Predicate lastNamePredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get("lastName")),
-                    "%" + keyword.toLowerCase() + "%");
-
-            // WHERE LOWER(username) LIKE %keyword%
-            Predicate useramePredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get("username")),
-                    "%" + keyword.toLowerCase() + "%");
-
-            // WHERE LOWER(email) LIKE %keyword%
-            Predicate emailPredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get("email")),
-                    "%" + keyword.toLowerCase() + "%");
-
-            // WHERE LOWER(name) LIKE %keyword% OR LOWER(description) LIKE %keyword%
-            return criteriaBuilder.or(firstNamePredicate, lastNamePredicate, useramePredicate, emailPredicate);
-        };
+        var specification = keywordSpecification(keyword);
 
         var users = userRepository.findAll(specification, pageable);
 
@@ -142,6 +106,26 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public KeysetSlice<UserDTO> findAllAfter(String keyword, String after, Pageable pageable) {
+        // Find user by keyword, one slice after the cursor
+        return KeysetPaging.findSlice(keywordSpecification(keyword), after, pageable, SORT_KEYS,
+                (specification, sort, limit) -> userRepository.findBy(specification,
+                        query -> query.sortBy(sort).limit(limit).all()),
+                // Covert User to UserDTO
+                (User user) -> {
+                    var userDTO = new UserDTO();
+                    userDTO.setId(user.getId());
+                    userDTO.setFirstName(user.getFirstName());
+                    userDTO.setLastName(user.getLastName());
+                    userDTO.setEmail(user.getEmail());
+                    userDTO.setUsername(user.getUsername());
+                    return userDTO;
+                });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public UserDTO findById(UUID id) {
         var user = userRepository.findById(id).orElse(null);
 
@@ -250,4 +234,33 @@ public class UserServiceImpl implements UserService {
         // Check if user is deleted
         return !userRepository.existsById(id);
     }
+
+    private static Specification<User> keywordSpecification(String keyword) {
+        return (root, query, criteriaBuilder) -> {
+            // Neu keyword null thi tra ve null
+            if (keyword == null) {
+                return null;
+            }
+
+            // Neu keyword khong null
+            // WHERE LOWER(firstName) LIKE %keyword%
+            Predicate firstNamePredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get("firstName")),
+                    "%" + keyword.toLowerCase() + "%");
+
+            // WHERE LOWER(lastName) LIKE %keyword%
+            Predicate lastNamePredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get("lastName")),
+                    "%" + keyword.toLowerCase() + "%");
+
+            // WHERE LOWER(username) LIKE %keyword%
+            Predicate useramePredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get("username")),
+                    "%" + keyword.toLowerCase() + "%");
+
+            // WHERE LOWER(email) LIKE %keyword%
+            Predicate emailPredicate = criteriaBuilder.like(criteriaBuilder.lower(root.get("email")),
+                    "%" + keyword.toLowerCase() + "%");
+
+            // WHERE LOWER(name) LIKE %keyword% OR LOWER(description) LIKE %keyword%
+            return criteriaBuilder.or(firstNamePredicate, lastNamePredicate, useramePredicate, emailPredicate);
+        };
+    }
 }
@@ -0,0 +1,56 @@
+-- H2 schema for the perf profile - same tables and columns Hibernate creates on SQL Server
+CREATE TABLE IF NOT EXISTS roles (
+    id UUID PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE,
+    description VARCHAR(500)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id UUID PRIMARY KEY,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    username VARCHAR(50) NOT NULL UNIQUE,
+    email VARCHAR(50) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id UUID NOT NULL REFERENCES users (id),
+    role_id UUID NOT NULL REFERENCES roles (id),
+    PRIMARY KEY (user_id, role_id)
+);
+
+CREATE TABLE IF NOT EXISTS categories (
+    id UUID PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE,
+    description VARCHAR(500),
+    version BIGINT DEFAULT 0 NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE TABLE IF NOT EXISTS ingredients (
+    id UUID PRIMARY KEY,
+    name VARCHAR(255) NOT NULL UNIQUE,
+    version BIGINT DEFAULT 0 NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE TABLE IF NOT EXISTS recipes (
+    id UUID PRIMARY KEY,
+    title VARCHAR(255) NOT NULL UNIQUE,
+    description VARCHAR(4000),
+    image VARCHAR(255),
+    prep_time INT DEFAULT 0 NOT NULL CHECK (prep_time >= 0),
+    cook_time INT DEFAULT 0 NOT NULL CHECK (cook_time >= 0),
+    servings INT DEFAULT 0 NOT NULL CHECK (servings >= 0),
+    version BIGINT DEFAULT 0 NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE,
+    category_id UUID REFERENCES categories (id)
+);
+
+CREATE TABLE IF NOT EXISTS recipe_ingredients (
+    recipe_id UUID NOT NULL REFERENCES recipes (id),
+    ingredient_id UUID NOT NULL REFERENCES ingredients (id),
+    amount VARCHAR(255) NOT NULL,
+    PRIMARY KEY (recipe_id, ingredient_id)
+);
@@ -0,0 +1,74 @@
+package com.congdinh.recipeapi.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+// Over budget or repeated statements throw with fail=true, and are only counted with fail=false
+class QueryCountFilterTests {
+    private static final String ENDPOINT = "GET /api/v1/recipes/{id}";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QueryCountInspector inspector = new QueryCountInspector();
+
+    @Test
+    void overBudgetThrowsWhenFailIsOn() {
+        var filter = new QueryCountFilter(meterRegistry, 5, 20, Map.of(ENDPOINT, 2), true);
+
+        assertThatIllegalStateException()
+                .isThrownBy(() -> filter.doFilter(request(), new MockHttpServletResponse(), statements(3)))
+                .withMessageContaining(ENDPOINT + " ran 3 statements, budget is 2");
+    }
+
+    @Test
+    void withinBudgetPasses() throws Exception {
+        var filter = new QueryCountFilter(meterRegistry, 5, 20, Map.of(ENDPOINT, 2), true);
+
+        filter.doFilter(request(), new MockHttpServletResponse(), statements(2));
+
+        assertThat(meterRegistry.find("query.count.violations").counter()).isNull();
+    }
+
+    @Test
+    void repeatedStatementThrowsWhenFailIsOn() {
+        var filter = new QueryCountFilter(meterRegistry, 5, 20, Map.of(), true);
+
+        assertThatIllegalStateException()
+                .isThrownBy(() -> filter.doFilter(request(), new MockHttpServletResponse(), statements(5)))
+                .withMessageContaining("ran the same statement 5 times");
+    }
+
+    @Test
+    void violationsAreOnlyCountedWhenFailIsOff() throws Exception {
+        var filter = new QueryCountFilter(meterRegistry, 5, 20, Map.of(ENDPOINT, 2), false);
+
+        filter.doFilter(request(), new MockHttpServletResponse(), statements(3));
+
+        assertThat(meterRegistry.get("query.count.violations").tags("endpoint", ENDPOINT, "type", "budget")
+                .counter().count()).isEqualTo(1);
+    }
+
+    private static MockHttpServletRequest request() {
+        var request = new MockHttpServletRequest("GET", "/api/v1/recipes/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/recipes/{id}");
+        return request;
+    }
+
+    // The handler runs the same statement count times through the inspector, like Hibernate would
+    private FilterChain statements(int count) {
+        return (request, response) -> {
+            for (int i = 0; i < count; i++) {
+                inspector.inspect("select * from recipe_ingredients where recipe_id = ?");
+            }
+        };
+    }
+}
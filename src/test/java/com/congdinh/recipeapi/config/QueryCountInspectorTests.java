@@ -0,0 +1,49 @@
+package com.congdinh.recipeapi.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+// Statements that differ only in IN-list length or whitespace have the same shape
+class QueryCountInspectorTests {
+    @Test
+    void inListsOfAnyLengthHaveOneShape() {
+        assertThat(QueryCountInspector.shape("select * from recipes where id in (?, ?, ?)"))
+                .isEqualTo(QueryCountInspector.shape("select * from recipes where id in (?)"))
+                .isEqualTo("select * from recipes where id in (?)");
+        assertThat(QueryCountInspector.shape("select * from recipes where id IN(?,?)"))
+                .isEqualTo("select * from recipes where id in (?)");
+    }
+
+    @Test
+    void whitespaceIsCollapsed() {
+        assertThat(QueryCountInspector.shape("  select *\n  from recipes\twhere   id = ?  "))
+                .isEqualTo("select * from recipes where id = ?");
+    }
+
+    @Test
+    void otherParenthesesAreKept() {
+        assertThat(QueryCountInspector.shape("select count(?) from recipes where id in (select id from t)"))
+                .isEqualTo("select count(?) from recipes where id in (select id from t)");
+    }
+
+    @Test
+    void countsOnlyWhileBound() {
+        var inspector = new QueryCountInspector();
+        inspector.inspect("select 1");
+
+        var queryCounts = QueryCountInspector.bind();
+        try {
+            inspector.inspect("select * from recipes where id in (?, ?)");
+            inspector.inspect("select * from recipes where id in (?)");
+            inspector.inspect("select * from categories");
+        } finally {
+            QueryCountInspector.clear();
+        }
+        inspector.inspect("select 2");
+
+        assertThat(queryCounts.getTotal()).isEqualTo(3);
+        assertThat(queryCounts.getMostRepeated().getKey()).isEqualTo("select * from recipes where id in (?)");
+        assertThat(queryCounts.getMostRepeated().getValue()).isEqualTo(2);
+    }
+}
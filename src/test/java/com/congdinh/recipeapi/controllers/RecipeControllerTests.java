@@ -0,0 +1,97 @@
+package com.congdinh.recipeapi.controllers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.congdinh.recipeapi.entities.Category;
+import com.congdinh.recipeapi.entities.Ingredient;
+import com.congdinh.recipeapi.entities.Recipe;
+import com.congdinh.recipeapi.entities.RecipeIngredient;
+import com.congdinh.recipeapi.entities.RecipeIngredientId;
+import com.congdinh.recipeapi.services.TokenService;
+
+import jakarta.persistence.EntityManager;
+
+// Endpoints run within their app.query-count.budgets from application-test.properties
+// QueryCountFilter throws with app.query-count.fail=true, so going over budget fails perform()
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class RecipeControllerTests {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        token = tokenService.generateAccessToken(new UsernamePasswordAuthenticationToken("admin", null,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+    }
+
+    @Test
+    void findByIdStaysWithinStatementBudget() throws Exception {
+        var id = recipeWithIngredients(10);
+
+        mockMvc.perform(get("/api/v1/recipes/{id}", id).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.category.name").value("Soups"))
+                .andExpect(jsonPath("$.ingredients.length()").value(10));
+    }
+
+    private UUID recipeWithIngredients(int ingredientCount) {
+        var category = new Category();
+        category.setName("Soups");
+        entityManager.persist(category);
+
+        var recipe = new Recipe();
+        recipe.setTitle("Soup");
+        recipe.setPrepTime(10);
+        recipe.setCookTime(20);
+        recipe.setServings(2);
+        recipe.setCategory(category);
+        entityManager.persist(recipe);
+
+        for (int i = 0; i < ingredientCount; i++) {
+            var ingredient = new Ingredient();
+            ingredient.setName("Ingredient " + i);
+            entityManager.persist(ingredient);
+
+            var recipeIngredient = new RecipeIngredient();
+            recipeIngredient.setId(new RecipeIngredientId(recipe.getId(), ingredient.getId()));
+            recipeIngredient.setRecipe(recipe);
+            recipeIngredient.setIngredient(ingredient);
+            recipeIngredient.setAmount(i + " g");
+            entityManager.persist(recipeIngredient);
+        }
+
+        // The request loads everything from the database, not from this persistence context
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+        return recipe.getId();
+    }
+}
@@ -0,0 +1,72 @@
+package com.congdinh.recipeapi.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.congdinh.recipeapi.entities.Ingredient;
+
+// saveAll is sent as JDBC batches of hibernate.jdbc.batch_size - UUIDs are assigned in the application, no select
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class IngredientRepositoryTests {
+    private static final int INGREDIENTS = 1000;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+
+    @Test
+    void saveAllInsertsInBatches() {
+        var statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class)
+                .getStatistics();
+        var ingredients = IntStream.range(0, INGREDIENTS).mapToObj(i -> {
+            var ingredient = new Ingredient();
+            ingredient.setName("Ingredient " + i);
+            return ingredient;
+        }).toList();
+
+        // Statistics has no batch counter - count executeBatch and single executes on the session
+        var batches = new AtomicInteger();
+        var statements = new AtomicInteger();
+        entityManager.getEntityManager().unwrap(Session.class).addEventListeners(new BaseSessionEventListener() {
+            @Override
+            public void jdbcExecuteBatchStart() {
+                batches.incrementAndGet();
+            }
+
+            @Override
+            public void jdbcExecuteStatementStart() {
+                statements.incrementAndGet();
+            }
+        });
+        statistics.clear();
+
+        ingredientRepository.saveAll(ingredients);
+        entityManager.flush();
+
+        // 1,000 rows: one INSERT prepared once, executed as 1,000 / batch_size batches, no select before insert
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(INGREDIENTS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(batches.get()).isEqualTo(INGREDIENTS / batchSize);
+        assertThat(statements.get()).isZero();
+    }
+}
@@ -0,0 +1,92 @@
+package com.congdinh.recipeapi.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.congdinh.recipeapi.entities.Category;
+import com.congdinh.recipeapi.entities.Ingredient;
+import com.congdinh.recipeapi.entities.Recipe;
+import com.congdinh.recipeapi.entities.RecipeIngredient;
+import com.congdinh.recipeapi.entities.RecipeIngredientId;
+
+// Recipe detail reads category, recipe_ingredients and ingredients in one statement, whatever the ingredient count
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RecipeRepositoryTests {
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class)
+                .getStatistics();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 5, 40 })
+    void findWithIngredientsByIdRunsOneStatement(int ingredientCount) {
+        var id = recipeWithIngredients(ingredientCount);
+
+        // Nothing from the persistence context or the second-level cache
+        entityManager.clear();
+        entityManager.getEntityManager().getEntityManagerFactory().getCache().evictAll();
+        statistics.clear();
+
+        var recipe = recipeRepository.findWithIngredientsById(id).orElseThrow();
+
+        // Everything the detail response renders
+        assertThat(recipe.getCategory().getName()).isEqualTo("Soups");
+        assertThat(recipe.getIngredients()).hasSize(ingredientCount)
+                .allSatisfy(recipeIngredient -> assertThat(recipeIngredient.getIngredient().getName()).isNotNull());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private UUID recipeWithIngredients(int ingredientCount) {
+        var category = new Category();
+        category.setName("Soups");
+        entityManager.persist(category);
+
+        var recipe = new Recipe();
+        recipe.setTitle("Soup");
+        recipe.setPrepTime(10);
+        recipe.setCookTime(20);
+        recipe.setServings(2);
+        recipe.setCategory(category);
+        entityManager.persist(recipe);
+
+        for (int i = 0; i < ingredientCount; i++) {
+            var ingredient = new Ingredient();
+            ingredient.setName("Ingredient " + i);
+            entityManager.persist(ingredient);
+
+            var recipeIngredient = new RecipeIngredient();
+            recipeIngredient.setId(new RecipeIngredientId(recipe.getId(), ingredient.getId()));
+            recipeIngredient.setRecipe(recipe);
+            recipeIngredient.setIngredient(ingredient);
+            recipeIngredient.setAmount(i + " g");
+            entityManager.persist(recipeIngredient);
+        }
+
+        entityManager.flush();
+        return recipe.getId();
+    }
+}
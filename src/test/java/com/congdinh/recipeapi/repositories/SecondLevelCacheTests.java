@@ -0,0 +1,134 @@
+package com.congdinh.recipeapi.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.congdinh.recipeapi.entities.Category;
+import com.congdinh.recipeapi.entities.Ingredient;
+import com.congdinh.recipeapi.entities.Role;
+import com.congdinh.recipeapi.entities.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Category, Ingredient, Role and User.roles come from the second-level cache on the second read
+// Each read runs in its own committed transaction, like two requests
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTests {
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+
+    private UUID categoryId;
+    private UUID ingredientId;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            var category = new Category();
+            category.setName("Soups");
+            categoryId = categoryRepository.save(category).getId();
+
+            var ingredient = new Ingredient();
+            ingredient.setName("Salt");
+            ingredientId = ingredientRepository.save(ingredient).getId();
+
+            var role = new Role();
+            role.setName("CACHE_TEST");
+            role = roleRepository.save(role);
+
+            var user = new User();
+            user.setFirstName("Cache");
+            user.setLastName("Test");
+            user.setUsername("cachetest");
+            user.setEmail("cachetest@example.com");
+            user.setPassword("password");
+            user.setRoles(Set.of(role));
+            userId = userRepository.save(user).getId();
+        });
+
+        // Start cold - the first read must go to the database
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.deleteAll();
+            roleRepository.deleteAll();
+            ingredientRepository.deleteAll();
+            categoryRepository.deleteAll();
+        });
+    }
+
+    @Test
+    void secondReadIsServedFromCache() {
+        read();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isZero();
+        var firstReadStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        read();
+
+        // category + ingredient + role entities + the user's role collection
+        assertThat(statistics.getDomainDataRegionStatistics("category").getHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("ingredient").getHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("role").getHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("user-roles").getHitCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(4);
+        assertThat(statistics.getSecondLevelCacheMissCount()).isZero();
+
+        // Only the user row itself (not cached) is read again
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1).isLessThan(firstReadStatements);
+    }
+
+    private void read() {
+        transactionTemplate.executeWithoutResult(status -> {
+            assertThat(categoryRepository.findById(categoryId)).isPresent();
+            assertThat(ingredientRepository.findById(ingredientId)).isPresent();
+
+            var user = userRepository.findById(userId).orElseThrow();
+            assertThat(user.getRoles()).extracting(Role::getName).containsExactly("CACHE_TEST");
+        });
+    }
+}
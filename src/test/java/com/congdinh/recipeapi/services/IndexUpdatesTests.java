@@ -0,0 +1,49 @@
+package com.congdinh.recipeapi.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+// Changes committed during a rebuild are applied after the rows the rebuild read, never before
+class IndexUpdatesTests {
+    private final IndexUpdates updates = new IndexUpdates();
+
+    @Test
+    void appliesRightAwayOutsideRebuild() {
+        var applied = new ArrayList<String>();
+
+        updates.afterCommit(() -> applied.add("update"));
+
+        assertThat(applied).containsExactly("update");
+    }
+
+    @Test
+    void replaysChangesCommittedDuringRebuild() {
+        var applied = new ArrayList<String>();
+
+        updates.rebuild(() -> {
+            applied.add("row read before the change");
+            updates.afterCommit(() -> applied.add("change"));
+            applied.add("stale row");
+        });
+
+        assertThat(applied).containsExactly("row read before the change", "stale row", "change");
+
+        updates.afterCommit(() -> applied.add("after rebuild"));
+        assertThat(applied).endsWith("after rebuild");
+    }
+
+    @Test
+    void replaysChangesCommittedDuringReplay() {
+        var applied = new ArrayList<String>();
+
+        updates.rebuild(() -> updates.afterCommit(() -> {
+            applied.add("first");
+            updates.afterCommit(() -> applied.add("second"));
+        }));
+
+        assertThat(applied).containsExactly("first", "second");
+    }
+}
@@ -0,0 +1,44 @@
+package com.congdinh.recipeapi.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.congdinh.recipeapi.dto.ingredient.IngredientDTO;
+import com.congdinh.recipeapi.entities.Ingredient;
+import com.congdinh.recipeapi.repositories.IngredientRepository;
+
+// The database fallback ignores accents and case like the in-memory index
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class IngredientSuggestIndexTests {
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @BeforeEach
+    void setUp() {
+        for (var name : new String[] { "Cá hồi", "Đậu phụ", "Crème fraîche", "Salt" }) {
+            var ingredient = new Ingredient();
+            ingredient.setName(name);
+            ingredientRepository.save(ingredient);
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "ca, Cá hồi", "CÁ, Cá hồi", "dau, Đậu phụ", "đậu, Đậu phụ", "creme, Crème fraîche", "sa, Salt" })
+    void databaseFallbackMatchesIndex(String prefix, String name) {
+        var fallback = ingredientRepository.findAll(IngredientSuggestIndex.nameStartsWith(prefix));
+        assertThat(fallback).extracting(Ingredient::getName).containsExactly(name);
+
+        var index = new IngredientSuggestIndex(ingredientRepository);
+        index.rebuild();
+        assertThat(index.suggest(prefix, 10)).extracting(IngredientDTO::getName).containsExactly(name);
+    }
+}
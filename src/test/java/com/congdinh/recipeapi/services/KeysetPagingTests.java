@@ -0,0 +1,196 @@
+package com.congdinh.recipeapi.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.congdinh.recipeapi.dto.category.CategoryDTO;
+import com.congdinh.recipeapi.dto.core.KeysetSlice;
+import com.congdinh.recipeapi.dto.ingredient.IngredientDTO;
+import com.congdinh.recipeapi.dto.recipe.RecipeDTO;
+import com.congdinh.recipeapi.dto.user.UserDTO;
+import com.congdinh.recipeapi.entities.Category;
+import com.congdinh.recipeapi.entities.Ingredient;
+import com.congdinh.recipeapi.entities.Recipe;
+import com.congdinh.recipeapi.entities.User;
+import com.congdinh.recipeapi.repositories.CategoryRepository;
+import com.congdinh.recipeapi.repositories.IngredientRepository;
+import com.congdinh.recipeapi.repositories.RecipeRepository;
+import com.congdinh.recipeapi.repositories.UserRepository;
+
+import jakarta.persistence.EntityManager;
+
+// Following next cursors visits every row once, for every sort field each resource allows
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class KeysetPagingTests {
+    private static final int ROWS = 5;
+    private static final int SLICE_SIZE = 2;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private IngredientService ingredientService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        // Category slices are cached, rows of earlier tests were rolled back
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        for (int i = 0; i < ROWS; i++) {
+            var category = new Category();
+            category.setName("Category " + i);
+            categoryRepository.save(category);
+
+            var ingredient = new Ingredient();
+            ingredient.setName("Ingredient " + i);
+            ingredientRepository.save(ingredient);
+
+            var user = new User();
+            user.setFirstName("First " + i % 2);
+            user.setLastName("Last " + i);
+            user.setUsername("user" + i);
+            user.setEmail("user" + i + "@example.com");
+            user.setPassword("password");
+            userRepository.save(user);
+
+            // Repeated values and recipes without category exercise the id tie-breaker and NULL ordering
+            var recipe = new Recipe();
+            recipe.setTitle("Recipe " + i);
+            recipe.setPrepTime(10 * (i % 2));
+            recipe.setCookTime(20 + i);
+            recipe.setServings(2);
+            recipe.setCategory(i % 2 == 0 ? null : category);
+            recipeRepository.save(recipe);
+        }
+
+        // Read rows back as the database stores them, not from the persistence context
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    static Stream<Arguments> categorySorts() {
+        return sorts(CategoryServiceImpl.SORT_KEYS);
+    }
+
+    static Stream<Arguments> ingredientSorts() {
+        return sorts(IngredientServiceImpl.SORT_KEYS);
+    }
+
+    static Stream<Arguments> userSorts() {
+        return sorts(UserServiceImpl.SORT_KEYS);
+    }
+
+    static Stream<Arguments> recipeSorts() {
+        return sorts(RecipeServiceImpl.SORT_KEYS);
+    }
+
+    private static Stream<Arguments> sorts(KeysetPaging.SortKeys<?> keys) {
+        return keys.properties().stream()
+                .flatMap(property -> Stream.of(Sort.by(property).ascending(), Sort.by(property).descending()))
+                .map(Arguments::of);
+    }
+
+    @ParameterizedTest
+    @MethodSource("categorySorts")
+    void categoriesRoundTrip(Sort sort) {
+        var ids = walk(after -> categoryService.findAllAfter(null, after, PageRequest.of(0, SLICE_SIZE, sort)),
+                CategoryDTO::getId);
+
+        assertThat(ids).doesNotHaveDuplicates().hasSize((int) categoryRepository.count());
+    }
+
+    @ParameterizedTest
+    @MethodSource("ingredientSorts")
+    void ingredientsRoundTrip(Sort sort) {
+        var ids = walk(after -> ingredientService.findAllAfter(null, after, PageRequest.of(0, SLICE_SIZE, sort)),
+                IngredientDTO::getId);
+
+        assertThat(ids).doesNotHaveDuplicates().hasSize((int) ingredientRepository.count());
+    }
+
+    @ParameterizedTest
+    @MethodSource("userSorts")
+    void usersRoundTrip(Sort sort) {
+        var ids = walk(after -> userService.findAllAfter(null, after, PageRequest.of(0, SLICE_SIZE, sort)),
+                UserDTO::getId);
+
+        assertThat(ids).doesNotHaveDuplicates().hasSize((int) userRepository.count());
+    }
+
+    @ParameterizedTest
+    @MethodSource("recipeSorts")
+    void recipesRoundTrip(Sort sort) {
+        var ids = walk(
+                after -> recipeService.findAllAfter(null, after, PageRequest.of(0, SLICE_SIZE, sort), null),
+                RecipeDTO::getId);
+
+        assertThat(ids).doesNotHaveDuplicates().hasSize((int) recipeRepository.count());
+    }
+
+    @Test
+    void rejectsSortFieldsOutsideTheResourceKeys() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> userService.findAllAfter(null, null, PageRequest.of(0, 1, Sort.by("password"))))
+                .withMessage("Unsupported sort field password");
+        assertThatIllegalArgumentException().isThrownBy(
+                () -> recipeService.findAllAfter(null, null, PageRequest.of(0, 1, Sort.by("description")), null));
+    }
+
+    private static <T> List<UUID> walk(Function<String, KeysetSlice<T>> slices, Function<T, UUID> id) {
+        var ids = new ArrayList<UUID>();
+        String after = null;
+
+        do {
+            var slice = slices.apply(after);
+            slice.getContent().forEach(row -> ids.add(id.apply(row)));
+            after = slice.getNextCursor();
+        } while (after != null && ids.size() <= 10 * ROWS);
+
+        return ids;
+    }
+}
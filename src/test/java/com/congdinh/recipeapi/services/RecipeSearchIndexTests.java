@@ -0,0 +1,180 @@
+package com.congdinh.recipeapi.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.congdinh.recipeapi.dto.recipe.RecipeDTO;
+import com.congdinh.recipeapi.dto.recipe.RecipeListRowDTO;
+import com.congdinh.recipeapi.entities.Category;
+import com.congdinh.recipeapi.entities.Recipe;
+import com.congdinh.recipeapi.repositories.CategoryRepository;
+import com.congdinh.recipeapi.repositories.RecipeRepository;
+
+import jakarta.persistence.EntityManager;
+
+// Pages answered from the search index hold the same recipes, in the same order, as the LIKE query
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class RecipeSearchIndexTests {
+    private static final String[] TITLES = { "Coconut curry", "Curry with coconut", "Chicken soup", "Beef pho",
+            "Coconut rice", "Spicy curry", "Lemon chicken", "Doughnut cake" };
+
+    private static final int PAGE_SIZE = 3;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private RecipeSearchIndex recipeSearchIndex;
+
+    @Autowired
+    private RecipeRepository recipeRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private final List<UUID> indexedIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        var soups = category("Soups");
+        var mains = category("Mains");
+
+        for (int i = 0; i < 2 * TITLES.length; i++) {
+            var recipe = new Recipe();
+            recipe.setTitle(TITLES[i % TITLES.length] + " " + i);
+            recipe.setDescription(i % 3 == 0 ? null : "Served with coconut " + (i % 2 == 0 ? "curry" : "milk"));
+            recipe.setPrepTime(10 * (i % 4));
+            recipe.setCookTime(20 + i);
+            recipe.setServings(2);
+            recipe.setCategory(i % 5 == 0 ? null : i % 2 == 0 ? soups : mains);
+            recipeRepository.save(recipe);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        // The rows are rolled back - index them here and remove them again after the test
+        recipeRepository.findAll().forEach(recipe -> {
+            recipeSearchIndex.index(recipe.getId(), recipe.getTitle(), recipe.getDescription());
+            indexedIds.add(recipe.getId());
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        indexedIds.forEach(recipeSearchIndex::remove);
+    }
+
+    static Stream<Arguments> searches() {
+        return Stream.of("coconut", "CURRY", "coconut curry", "nut c", "pho", "none")
+                .flatMap(keyword -> Stream.of("id", "title", "prepTime", "category.name", "updatedAt")
+                        .flatMap(property -> Stream.of(Sort.by(property).ascending(), Sort.by(property).descending())
+                                .map(sort -> Arguments.of(keyword, sort))));
+    }
+
+    @ParameterizedTest
+    @MethodSource("searches")
+    void indexPagesMatchLikeQuery(String keyword, Sort sort) {
+        assertThat(recipeSearchIndex.findMatches(keyword)).isNotNull();
+
+        var expected = recipeRepository.findListRows(RecipeServiceImpl.keywordSpecification(keyword), sort, 100,
+                false);
+        var actual = walk(page -> recipeService.findAll(keyword, PageRequest.of(page, PAGE_SIZE, sort), null),
+                expected.size());
+
+        assertSameRows(actual, expected, sort);
+    }
+
+    @Test
+    void categoryFilterMatchesLikeQuery() {
+        var sort = Sort.by("title").descending();
+        var expected = recipeRepository.findListRows(RecipeServiceImpl.keywordSpecification("coconut")
+                .and((root, query, criteriaBuilder) -> criteriaBuilder.equal(
+                        criteriaBuilder.lower(root.get("category").get("name")), "soups")), sort, 100, false);
+        var actual = walk(page -> recipeService.findAll("coconut", "Soups", PageRequest.of(page, PAGE_SIZE, sort)),
+                expected.size());
+
+        assertThat(expected).isNotEmpty();
+        assertSameRows(actual, expected, sort);
+    }
+
+    @Test
+    void likeWildcardsAndKeywordsWithoutWordsGoToTheDatabase() {
+        assertThat(recipeSearchIndex.findMatches("100%")).isNull();
+        assertThat(recipeSearchIndex.findMatches("coco_nut")).isNull();
+        assertThat(recipeSearchIndex.findMatches(" - ")).isNull();
+    }
+
+    // Every page up to the last, checking the total the index reports on each
+    private static List<RecipeDTO> walk(Function<Integer, Page<RecipeDTO>> pages, int total) {
+        var recipes = new ArrayList<RecipeDTO>();
+        Page<RecipeDTO> page;
+        int number = 0;
+
+        do {
+            page = pages.apply(number++);
+            assertThat(page.getTotalElements()).isEqualTo(total);
+            recipes.addAll(page.getContent());
+        } while (page.hasNext());
+
+        return recipes;
+    }
+
+    // Same recipes, and the same sort values in the same order - rows with equal values may be in any order
+    private static void assertSameRows(List<RecipeDTO> actual, List<RecipeListRowDTO> expected, Sort sort) {
+        assertThat(actual).extracting(RecipeDTO::getId)
+                .containsExactlyInAnyOrderElementsOf(expected.stream().map(RecipeListRowDTO::getId).toList());
+
+        var property = sort.iterator().next().getProperty();
+        if (property.equals("id")) {
+            return;
+        }
+
+        Map<UUID, RecipeListRowDTO> rows = expected.stream()
+                .collect(Collectors.toMap(RecipeListRowDTO::getId, Function.identity()));
+        assertThat(actual.stream().map(recipe -> value(rows.get(recipe.getId()), property)).toList())
+                .isEqualTo(expected.stream().map(row -> value(row, property)).toList());
+    }
+
+    private static Object value(RecipeListRowDTO row, String property) {
+        return switch (property) {
+            case "title" -> row.getTitle();
+            case "prepTime" -> row.getPrepTime();
+            case "category.name" -> row.getCategoryName();
+            case "updatedAt" -> row.getUpdatedAt();
+            default -> throw new IllegalArgumentException(property);
+        };
+    }
+
+    private Category category(String name) {
+        var category = new Category();
+        category.setName(name);
+        return categoryRepository.save(category);
+    }
+}
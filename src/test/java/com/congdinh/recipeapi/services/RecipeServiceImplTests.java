@@ -0,0 +1,132 @@
+package com.congdinh.recipeapi.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.congdinh.recipeapi.dto.recipe.RecipeAddIngredientDTO;
+import com.congdinh.recipeapi.dto.recipe.RecipeAddListIngredientDTO;
+import com.congdinh.recipeapi.dto.recipe.RecipeCreateDTO;
+import com.congdinh.recipeapi.dto.recipe.RecipeEditDTO;
+import com.congdinh.recipeapi.entities.Ingredient;
+import com.congdinh.recipeapi.repositories.IngredientRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// recipe_ingredients has one row per (recipe, ingredient) - repeated or existing ingredients update the amount
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class RecipeServiceImplTests {
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void createKeepsLastAmountOfRepeatedIngredient() {
+        var salt = ingredient("Salt");
+        var pepper = ingredient("Pepper");
+
+        var recipe = recipeService.create(recipeCreateDTO("Soup", List.of(
+                new RecipeAddIngredientDTO(salt, "1 g"),
+                new RecipeAddIngredientDTO(pepper, "2 g"),
+                new RecipeAddIngredientDTO(salt, "3 g"))));
+
+        assertThat(amounts(recipe.getId())).isEqualTo(Map.of(salt, "3 g", pepper, "2 g"));
+    }
+
+    @Test
+    void updateKeepsLastAmountOfRepeatedIngredient() {
+        var salt = ingredient("Salt");
+        var recipe = recipeService.create(recipeCreateDTO("Soup", List.of(new RecipeAddIngredientDTO(salt, "1 g"))));
+
+        var recipeEditDTO = new RecipeEditDTO();
+        recipeEditDTO.setTitle("Soup");
+        recipeEditDTO.setPrepTime(10);
+        recipeEditDTO.setCookTime(20);
+        recipeEditDTO.setServings(2);
+        recipeEditDTO.setIngredients(List.of(
+                new RecipeAddIngredientDTO(salt, "2 g"),
+                new RecipeAddIngredientDTO(salt, "4 g")));
+        recipeService.update(recipe.getId(), recipeEditDTO);
+
+        assertThat(amounts(recipe.getId())).isEqualTo(Map.of(salt, "4 g"));
+    }
+
+    @Test
+    void addIngredientsUpdatesExistingAndInsertsNew() {
+        var salt = ingredient("Salt");
+        var pepper = ingredient("Pepper");
+        var recipe = recipeService.create(recipeCreateDTO("Soup", List.of(new RecipeAddIngredientDTO(salt, "1 g"))));
+
+        var added = recipeService.addIngredient(recipe.getId(), new RecipeAddListIngredientDTO(List.of(
+                new RecipeAddIngredientDTO(salt, "5 g"),
+                new RecipeAddIngredientDTO(pepper, "2 g"))));
+
+        assertThat(added.getIngredients()).hasSize(2);
+        assertThat(amounts(recipe.getId())).isEqualTo(Map.of(salt, "5 g", pepper, "2 g"));
+    }
+
+    @Test
+    void listFieldsOmitOtherFieldsFromJson() throws Exception {
+        var recipeCreateDTO = recipeCreateDTO("Soup", List.of());
+        recipeCreateDTO.setDescription("Hot soup");
+        recipeService.create(recipeCreateDTO);
+
+        var recipes = recipeService.findAll(null, PageRequest.of(0, 10, Sort.by("title")), Set.of("id", "title"));
+
+        var json = objectMapper.readTree(objectMapper.writeValueAsString(recipes.getContent().get(0)));
+        assertThat(json.fieldNames()).toIterable().containsExactlyInAnyOrder("id", "title");
+    }
+
+    @Test
+    void listFieldsRejectUnknownNames() {
+        assertThatIllegalArgumentException().isThrownBy(() -> recipeService.findAll(null,
+                PageRequest.of(0, 10, Sort.by("title")), Set.of("title", "calories")))
+                .withMessageStartingWith("Unsupported field calories");
+    }
+
+    private UUID ingredient(String name) {
+        var ingredient = new Ingredient();
+        ingredient.setName(name);
+        return ingredientRepository.save(ingredient).getId();
+    }
+
+    private static RecipeCreateDTO recipeCreateDTO(String title, List<RecipeAddIngredientDTO> ingredients) {
+        var recipeCreateDTO = new RecipeCreateDTO();
+        recipeCreateDTO.setTitle(title);
+        recipeCreateDTO.setPrepTime(10);
+        recipeCreateDTO.setCookTime(20);
+        recipeCreateDTO.setServings(2);
+        recipeCreateDTO.setIngredients(ingredients);
+        return recipeCreateDTO;
+    }
+
+    // ingredient id => amount, read straight from the table
+    private Map<UUID, String> amounts(UUID recipeId) {
+        return jdbcTemplate.queryForList("SELECT ingredient_id, amount FROM recipe_ingredients WHERE recipe_id = ?",
+                recipeId).stream()
+                .collect(Collectors.toMap(row -> (UUID) row.get("INGREDIENT_ID"), row -> (String) row.get("AMOUNT")));
+    }
+}